@@ -0,0 +1,204 @@
+package com.hitachi.drone.actor;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.scheduler.SchedulerMode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * One actor per drone, enabled with {@code app.drone.scheduler-mode=actor}. Every command for a drone goes to
+ * that drone's mailbox and is run by at most one virtual thread at a time, in the order it was posted, so
+ * commands for the same drone never race while commands for different drones run in parallel. Mailboxes are
+ * lock-free queues; an actor only holds a thread while it has commands to run, and its mailbox is dropped once
+ * drained, so serial numbers that are looked up once do not stay in memory.
+ */
+@Component
+public class DroneActors {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Object parkLock = new Object();
+
+    public DroneActors(AppProperties appProperties) {
+        this.enabled = appProperties.getDrone().getSchedulerMode() == SchedulerMode.ACTOR;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Posts a command to the drone's mailbox.
+     */
+    public <T> CompletableFuture<T> submit(String serialNumber, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        post(serialNumber, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a command on the drone's actor and waits for its result. Runs it on the calling thread when actors
+     * are disabled or the caller already is that drone's actor.
+     */
+    public <T> T call(String serialNumber, Supplier<T> command) {
+        if (!enabled || serialNumber.equals(CURRENT.get())) {
+            return command.get();
+        }
+        try {
+            return submit(serialNumber, command).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs a command that touches several drones on the calling thread while the actors of those drones are
+     * parked, so no other command for them runs in between. Inside a transaction the actors stay parked until it
+     * completes. Parking commands are posted under one lock, so two such commands park shared actors in the same
+     * order and never wait for each other. Callers open their transaction inside the command, so they do not hold
+     * a connection while waiting for the actors. Runs the command directly when actors are disabled.
+     */
+    public <T> T callAll(Collection<String> serialNumbers, Supplier<T> command) {
+        Set<String> parked = new HashSet<>(serialNumbers);
+        parked.remove(CURRENT.get());
+        if (!enabled || parked.isEmpty()) {
+            return command.get();
+        }
+        CountDownLatch ready = new CountDownLatch(parked.size());
+        CountDownLatch released = new CountDownLatch(1);
+        synchronized (parkLock) {
+            parked.forEach(serialNumber -> post(serialNumber, () -> park(ready, released)));
+        }
+        boolean releaseAfterCompletion = false;
+        try {
+            ready.await();
+            T result = command.get();
+            releaseAfterCompletion = TransactionSynchronizationManager.isSynchronizationActive();
+            if (releaseAfterCompletion) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        released.countDown();
+                    }
+                });
+            }
+            return result;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for drone actors", ex);
+        } finally {
+            if (!releaseAfterCompletion) {
+                released.countDown();
+            }
+        }
+    }
+
+    public int size() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Adds the command to the drone's mailbox, creating the mailbox if needed. Runs atomically with
+     * {@link Mailbox#retireIfIdle()}, so a command never lands in a mailbox that was already dropped.
+     */
+    private void post(String serialNumber, Runnable command) {
+        Mailbox[] created = new Mailbox[1];
+        mailboxes.compute(serialNumber, (key, mailbox) -> {
+            Mailbox target = mailbox;
+            if (target == null) {
+                target = new Mailbox(key);
+                created[0] = target;
+            }
+            target.commands.add(command);
+            return target;
+        });
+        if (created[0] != null) {
+            executor.execute(created[0]::drain);
+        }
+    }
+
+    private static void park(CountDownLatch ready, CountDownLatch released) {
+        ready.countDown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                released.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Mailbox {
+
+        private final String serialNumber;
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+        private Mailbox(String serialNumber) {
+            this.serialNumber = serialNumber;
+        }
+
+        /**
+         * Runs commands until the mailbox is empty and then drops it. A mailbox is drained by the one thread
+         * started when it was created, so its commands never run concurrently.
+         */
+        private void drain() {
+            CURRENT.set(serialNumber);
+            try {
+                do {
+                    Runnable command;
+                    while ((command = commands.poll()) != null) {
+                        command.run();
+                    }
+                } while (!retireIfIdle());
+            } finally {
+                CURRENT.remove();
+            }
+        }
+
+        private boolean retireIfIdle() {
+            return mailboxes.computeIfPresent(serialNumber,
+                    (key, mailbox) -> mailbox == this && commands.isEmpty() ? null : mailbox) != this;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.hitachi.drone.cache;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-through cache of the fleet keyed by serial number, evicting the least recently used drone once
+ * {@code app.drone.cache.max-size} is reached. Writers put the drone they just saved; writes made inside a
+ * transaction only reach the cache after it commits. As long as nothing was evicted since the fleet was loaded
+ * the cache holds every drone and can answer list queries on its own; after an eviction readers reload it.
+ * Drones read from the database are only cached if no writer cached a newer copy and nothing was evicted since
+ * the read started, which callers prove by passing the {@link #getInvalidations()} value taken before reading.
+ */
+@Component
+public class FleetCache {
+
+    private final int maxSize;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Drone> drones;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long invalidations;
+    private boolean complete;
+    private boolean fits = true;
+
+    public FleetCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.maxSize = appProperties.getDrone().getCache().getMaxSize();
+        this.meterRegistry = meterRegistry;
+        this.drones = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Drone> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                evictions.incrementAndGet();
+                invalidations++;
+                complete = false;
+                return true;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void registerMeters() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", "fleet").tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", "fleet").tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", "fleet")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, FleetCache::size)
+                .tag("cache", "fleet")
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<Drone> get(String serialNumber) {
+        Drone drone = drones.get(serialNumber);
+        (drone != null ? hits : misses).incrementAndGet();
+        return Optional.ofNullable(drone);
+    }
+
+    /**
+     * @return the drones matching the same filter as {@code findByStateIsNullOrState}, or empty when the cache
+     * does not hold the whole fleet
+     */
+    public synchronized Optional<List<Drone>> findByStateIsNullOrState(DroneState state) {
+        if (!complete) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        List<Drone> result = new ArrayList<>();
+        for (Drone drone : drones.values()) {
+            if (state == null || drone.getState() == state) {
+                result.add(drone);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    public void put(Drone drone) {
+        afterCommit(() -> store(drone));
+    }
+
+    public void putAll(Collection<Drone> fleet) {
+        afterCommit(() -> fleet.forEach(this::store));
+    }
+
+    /**
+     * Caches a drone read from the database, unless a newer copy is cached or drones were evicted since
+     * {@code invalidations} was taken.
+     */
+    public void putIfAbsent(Drone drone, long invalidations) {
+        afterCommit(() -> storeIfAbsent(List.of(drone), invalidations));
+    }
+
+    public void putAllIfAbsent(Collection<Drone> fleet, long invalidations) {
+        afterCommit(() -> storeIfAbsent(fleet, invalidations));
+    }
+
+    /**
+     * Replaces the battery capacity of the cached drones among the given serial numbers.
+     */
+    public void updateBatteryCapacities(Map<String, Double> batteryCapacities) {
+        afterCommit(() -> replaceBatteryCapacities(batteryCapacities));
+    }
+
+    /**
+     * Replaces the cache content with the whole fleet.
+     */
+    public synchronized void load(Collection<Drone> fleet) {
+        drones.clear();
+        fits = fleet.size() <= maxSize;
+        complete = maxSize > 0;
+        fleet.forEach(this::store);
+    }
+
+    /**
+     * Fills the cache with the whole fleet read after {@code invalidations} was taken, keeping newer copies that
+     * writers cached meanwhile, and lets it answer list queries again if nothing was evicted in between.
+     */
+    public synchronized void reload(Collection<Drone> fleet, long invalidations) {
+        fits = fleet.size() <= maxSize;
+        storeIfAbsent(fleet, invalidations);
+        complete = maxSize > 0 && fits && this.invalidations == invalidations;
+    }
+
+    /**
+     * @return whether list queries miss because of an eviction that a {@link #reload} can repair
+     */
+    public synchronized boolean isReloadable() {
+        return maxSize > 0 && fits && !complete;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Drops every cached drone in the given state, for writers that update drones without knowing which ones.
+     */
+    public void evictState(DroneState state) {
+        removeState(state);
+        afterCommit(() -> removeState(state));
+    }
+
+    public synchronized int size() {
+        return drones.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private synchronized void store(Drone drone) {
+        if (maxSize > 0) {
+            drones.put(drone.getSerialNumber(), drone);
+        }
+    }
+
+    private synchronized void storeIfAbsent(Collection<Drone> fleet, long invalidations) {
+        if (maxSize == 0 || this.invalidations != invalidations) {
+            return;
+        }
+        fleet.forEach(drone -> drones.putIfAbsent(drone.getSerialNumber(), drone));
+    }
+
+    private synchronized void replaceBatteryCapacities(Map<String, Double> batteryCapacities) {
+        batteryCapacities.forEach((serialNumber, batteryCapacity) -> drones.computeIfPresent(serialNumber,
+                (key, drone) -> drone.toBuilder().batteryCapacity(batteryCapacity).build()));
+    }
+
+    private synchronized void removeState(DroneState state) {
+        if (drones.values().removeIf(drone -> drone.getState() == state)) {
+            invalidations++;
+            complete = false;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.hitachi.drone.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of registered drones, kept in memory so registrations can claim fleet capacity with a CAS instead of a
+ * {@code COUNT(*)}. Seeded once from the database; a claim made inside a transaction is handed back if it rolls
+ * back, and callers release claims for inserts that fail outside of one.
+ */
+@Component
+public class FleetCounter {
+
+    private static final long UNSEEDED = -1;
+
+    private final AtomicLong size = new AtomicLong(UNSEEDED);
+
+    public boolean isSeeded() {
+        return size.get() != UNSEEDED;
+    }
+
+    /**
+     * Sets the initial fleet size, unless another caller already did.
+     */
+    public void seed(long count) {
+        size.compareAndSet(UNSEEDED, count);
+    }
+
+    /**
+     * Claims room for up to {@code requested} drones without exceeding {@code maxDrones}.
+     *
+     * @return how many drones may be inserted, between 0 and {@code requested}
+     */
+    public int reserve(int requested, int maxDrones) {
+        while (true) {
+            long current = size.get();
+            if (current == UNSEEDED) {
+                throw new IllegalStateException("Fleet counter has not been seeded");
+            }
+            int granted = (int) Math.max(0, Math.min(requested, maxDrones - current));
+            if (granted == 0) {
+                return 0;
+            }
+            if (size.compareAndSet(current, current + granted)) {
+                releaseOnRollback(granted);
+                return granted;
+            }
+        }
+    }
+
+    public void release(int count) {
+        size.addAndGet(-count);
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    private void releaseOnRollback(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(count);
+                }
+            }
+        });
+    }
+}
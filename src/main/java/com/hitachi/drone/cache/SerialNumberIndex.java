@@ -0,0 +1,98 @@
+package com.hitachi.drone.cache;
+
+import com.hitachi.drone.config.AppProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bloom filter of every registered serial number, answering "definitely not registered" without a query. Drones
+ * are never deleted, so the filter only grows; it is sized for {@code app.drone.serial-index.expected-insertions}
+ * or twice the fleet on startup, whichever is larger. Until {@link #rebuild} has run, or when
+ * {@code app.drone.serial-index.enabled} is false, it knows nothing and never rules a serial number out.
+ */
+@Component
+public class SerialNumberIndex {
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final AtomicLong rejections = new AtomicLong();
+    private final Object swapLock = new Object();
+    private volatile BloomFilter filter;
+    private List<String> addedDuringRebuild;
+
+    public SerialNumberIndex(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.SerialIndexProperties properties = appProperties.getDrone().getSerialIndex();
+        this.enabled = properties.getEnabled();
+        this.expectedInsertions = properties.getExpectedInsertions();
+        this.falsePositiveRate = properties.getFalsePositiveRate();
+        FunctionCounter.builder("serial.index.rejections", rejections, AtomicLong::get)
+                .description("Serial number lookups answered as unknown without a query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the index content with the serial numbers read by {@code serialNumbers}. Serial numbers added while
+     * they are read are recorded and replayed into the new filter before it replaces the old one, under the lock
+     * {@link #add} takes, so a drone registered during the rebuild is never ruled out.
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<String>> serialNumbers) {
+        if (!enabled) {
+            return;
+        }
+        List<String> added = new ArrayList<>();
+        synchronized (swapLock) {
+            addedDuringRebuild = added;
+        }
+        try {
+            Collection<String> registered = serialNumbers.get();
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, 2L * registered.size()), falsePositiveRate);
+            registered.forEach(rebuilt::add);
+            synchronized (swapLock) {
+                added.forEach(rebuilt::add);
+                filter = rebuilt;
+            }
+        } finally {
+            synchronized (swapLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Must be called before the drone is visible to other transactions, so a lookup never misses a committed drone.
+     */
+    public void add(String serialNumber) {
+        synchronized (swapLock) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(serialNumber);
+            }
+            if (filter != null) {
+                filter.add(serialNumber);
+            }
+        }
+    }
+
+    /**
+     * @return true only when no drone with this serial number has been registered
+     */
+    public boolean isAbsent(String serialNumber) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(serialNumber)) {
+            return false;
+        }
+        rejections.incrementAndGet();
+        return true;
+    }
+
+    public long getRejections() {
+        return rejections.get();
+    }
+}
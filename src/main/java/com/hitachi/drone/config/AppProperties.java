@@ -1,9 +1,15 @@
 package com.hitachi.drone.config;
 
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.scheduler.SchedulerMode;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "app")
 @Data
@@ -16,5 +22,66 @@ public class AppProperties {
         private Double minBatteryForLoading;
         private Double batteryConsumptionPerDelivery;
         private Integer stateSchedulerFixedRate;
+        private Integer stateSchedulerIdleRate;
+        private SchedulerMode schedulerMode;
+        private Integer schedulerChunkSize;
+        private Integer schedulerPartitions;
+        private Integer maxPageSize;
+        private Map<DroneState, Duration> stateDwell = new EnumMap<>(DroneState.class);
+        private WheelProperties wheel = new WheelProperties();
+        private ClusterProperties cluster = new ClusterProperties();
+        private CacheProperties cache = new CacheProperties();
+        private SerialIndexProperties serialIndex = new SerialIndexProperties();
+        private TelemetryProperties telemetry = new TelemetryProperties();
+        private EventLogProperties eventLog = new EventLogProperties();
+        private StreamProperties stream = new StreamProperties();
+    }
+
+    @Data
+    public static class WheelProperties {
+        private Long tickMillis;
+        private Integer wheelSize;
+    }
+
+    @Data
+    public static class ClusterProperties {
+        private Boolean enabled;
+        private String instanceId;
+        private Long leaseMillis;
+        private Long heartbeatMillis;
+    }
+
+    @Data
+    public static class CacheProperties {
+        private Integer maxSize;
+    }
+
+    @Data
+    public static class SerialIndexProperties {
+        private Boolean enabled;
+        private Long expectedInsertions;
+        private Double falsePositiveRate;
+    }
+
+    @Data
+    public static class TelemetryProperties {
+        private Integer bufferSize;
+        private Long flushMillis;
+        private Integer historySlots;
+    }
+
+    @Data
+    public static class EventLogProperties {
+        private Boolean enabled;
+        private String path;
+        private Integer segmentRecords;
+        private Long fsyncMillis;
+    }
+
+    @Data
+    public static class StreamProperties {
+        private Integer bufferSize;
+        private Long timeoutMillis;
+        private Long heartbeatMillis;
     }
 }
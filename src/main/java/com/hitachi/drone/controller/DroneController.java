@@ -1,10 +1,24 @@
 package com.hitachi.drone.controller;
 
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateSink;
+import com.hitachi.drone.event.DroneStateSubscription;
 import com.hitachi.drone.model.domain.Drone;
 import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.dto.BatchLoadMedicationRequest;
+import com.hitachi.drone.model.dto.BatterySampleResponse;
+import com.hitachi.drone.model.dto.BulkRegisterDroneRequest;
+import com.hitachi.drone.model.dto.DronePageResponse;
 import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.dto.DroneResultResponse;
+import com.hitachi.drone.model.dto.DroneTransitionPageResponse;
+import com.hitachi.drone.model.dto.DroneTransitionResponse;
 import com.hitachi.drone.model.dto.LoadMedicationRequest;
 import com.hitachi.drone.model.dto.RegisterDroneRequest;
+import com.hitachi.drone.model.dto.TelemetryRequest;
+import com.hitachi.drone.model.dto.TelemetryResponse;
+import com.hitachi.drone.model.enums.BatteryResolution;
+import com.hitachi.drone.model.enums.DroneField;
 import com.hitachi.drone.model.enums.DroneState;
 import com.hitachi.drone.model.mapper.DroneMapper;
 import com.hitachi.drone.model.mapper.MedicationMapper;
@@ -12,6 +26,7 @@ import com.hitachi.drone.service.DroneService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,15 +36,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/drones")
 @RequiredArgsConstructor
 public class DroneController {
 
+    private static final Set<DroneField> SUMMARY_FIELDS = EnumSet.complementOf(EnumSet.of(DroneField.MEDICATIONS));
+
     private final DroneService droneService;
+    private final AppProperties appProperties;
 
     private final DroneMapper droneMapper;
     private final MedicationMapper medicationMapper;
@@ -41,6 +65,16 @@ public class DroneController {
         return droneMapper.toDTO(droneService.registerDrone(drone));
     }
 
+    /**
+     * Registers several drones at once. Each drone is reported as registered or with the reason it was skipped.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<DroneResultResponse> registerDrones(@Valid @RequestBody BulkRegisterDroneRequest request) {
+        List<Drone> drones = request.drones().stream().map(droneMapper::toDomain).toList();
+        return droneMapper.toResultDTO(droneService.registerDrones(drones));
+    }
+
     @PostMapping("/{serialNumber}/medications")
     @ResponseStatus(HttpStatus.OK)
     public DroneResponse loadMedication(@PathVariable String serialNumber, @Validated @RequestBody LoadMedicationRequest request) {
@@ -48,15 +82,143 @@ public class DroneController {
         return droneMapper.toDTO(droneService.loadMedication(serialNumber, medications));
     }
 
+    /**
+     * Loads several drones at once. Each drone is reported as loaded or with the reason it was skipped.
+     */
+    @PostMapping("/medications")
+    @ResponseStatus(HttpStatus.OK)
+    public List<DroneResultResponse> loadMedications(@Validated @RequestBody BatchLoadMedicationRequest request) {
+        Map<String, List<Medication>> medications = new LinkedHashMap<>();
+        request.drones().forEach((serialNumber, requests) -> medications.put(serialNumber, medicationMapper.toDomain(requests)));
+        return droneMapper.toResultDTO(droneService.loadMedications(medications));
+    }
+
+    /**
+     * Spreads a batch of medications over as few idle drones as possible and returns the drones loaded.
+     */
+    @PostMapping("/dispatch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<DroneResponse> dispatch(@Validated @RequestBody LoadMedicationRequest request) {
+        List<Medication> medications = medicationMapper.toDomain(request.medications());
+        return droneMapper.toDTO(droneService.dispatch(medications));
+    }
+
+    /**
+     * Accepts a batch of battery readings. They are written asynchronously, keeping only the newest reading per
+     * drone and flush; the response tells how many were queued and how many were dropped.
+     */
+    @PostMapping("/telemetry")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TelemetryResponse recordTelemetry(@Valid @RequestBody TelemetryRequest request) {
+        int accepted = droneService.recordBatteryReadings(droneMapper.toReadings(request.readings()));
+        return new TelemetryResponse(accepted, request.readings().size() - accepted);
+    }
+
+    /**
+     * Recent battery levels of a drone, oldest first: every reading, or the min, max and average per minute or hour.
+     */
+    @GetMapping("/{serialNumber}/battery-history")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BatterySampleResponse> getBatteryHistory(@PathVariable String serialNumber,
+                                                         @RequestParam(defaultValue = "RAW") BatteryResolution resolution) {
+        return droneMapper.toSampleDTO(droneService.getBatteryHistory(serialNumber, resolution));
+    }
+
+    /**
+     * Replays the transition log from a sequence number. Pass {@code next_sequence} back as {@code from} to follow
+     * the log.
+     */
+    @GetMapping("/transitions")
+    @ResponseStatus(HttpStatus.OK)
+    public DroneTransitionPageResponse getTransitions(@RequestParam(defaultValue = "0") long from,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        return droneMapper.toDTO(droneService.getTransitions(from, limit));
+    }
+
+    /**
+     * The latest transitions, oldest first.
+     */
+    @GetMapping("/transitions/tail")
+    @ResponseStatus(HttpStatus.OK)
+    public List<DroneTransitionResponse> getLatestTransitions(@RequestParam(defaultValue = "100") int limit) {
+        return droneMapper.toTransitionDTO(droneService.getLatestTransitions(limit));
+    }
+
+    /**
+     * Server-Sent Events stream of committed state changes, optionally only of one drone or of drones entering one
+     * state. Each change is a {@code state-changed} event.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStateChanges(@RequestParam(required = false) String serialNumber,
+                                         @RequestParam(required = false) DroneState state) {
+        SseEmitter emitter = new SseEmitter(appProperties.getDrone().getStream().getTimeoutMillis());
+        DroneStateSubscription subscription = droneService.streamStateChanges(serialNumber, state, new EmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Idle drones with enough battery and free weight for a payload, tightest fit first.
+     */
+    @GetMapping("/available")
+    @ResponseStatus(HttpStatus.OK)
+    public List<DroneResponse> getAvailableDrones(@RequestParam double weight, @RequestParam(defaultValue = "20") int limit) {
+        return droneMapper.toDTO(droneService.getAvailableDrones(weight, limit), SUMMARY_FIELDS);
+    }
+
     @GetMapping("/{serialNumber}")
     @ResponseStatus(HttpStatus.OK)
-    public DroneResponse getDrone(@PathVariable String serialNumber) {
-        return droneMapper.toDTO(droneService.getDrone(serialNumber));
+    public DroneResponse getDrone(@PathVariable String serialNumber, @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return droneService.getDroneResponse(serialNumber);
+        }
+        Set<DroneField> selected = DroneField.parse(fields);
+        return droneMapper.toDTO(droneService.getDrone(serialNumber, DroneField.requiresMedications(selected)), selected);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<DroneResponse> getDrones(@RequestParam(required = false) DroneState state) {
-        return droneMapper.toDTO(droneService.getDrones(state));
+    public List<DroneResponse> getDrones(@RequestParam(required = false) DroneState state,
+                                         @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return droneService.getDroneResponses(state);
+        }
+        Set<DroneField> selected = DroneField.parse(fields);
+        return droneMapper.toDTO(droneService.getDrones(state, DroneField.requiresMedications(selected)), selected);
+    }
+
+    @GetMapping(params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public DronePageResponse getDrones(@RequestParam(required = false) DroneState state, @RequestParam int limit,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return droneService.getDroneResponses(state, limit, cursor);
+        }
+        Set<DroneField> selected = DroneField.parse(fields);
+        return droneMapper.toDTO(droneService.getDrones(state, limit, cursor, DroneField.requiresMedications(selected)),
+                selected);
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements DroneStateSink {
+
+        private static final String EVENT_NAME = "state-changed";
+
+        @Override
+        public void send(String json) throws IOException {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(json, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.model.enums.DroneState;
+
+public record DroneStateChangedEvent(
+        String serialNumber,
+        DroneState previousState,
+        DroneState state) {
+}
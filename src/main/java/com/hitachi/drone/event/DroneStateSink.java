@@ -0,0 +1,26 @@
+package com.hitachi.drone.event;
+
+import java.io.IOException;
+
+/**
+ * Receives the state changes of one {@link DroneStateStream} subscription, for instance an HTTP event stream. The
+ * stream calls it from one thread at a time and never from the thread that published the change.
+ */
+public interface DroneStateSink {
+
+    /**
+     * @param json the change serialized as a {@link com.hitachi.drone.model.dto.DroneStateChangeResponse}, shared
+     *             by every sink it is sent to
+     */
+    void send(String json) throws IOException;
+
+    /**
+     * Sent while the stream is idle, so a connection that went away is found.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * The stream stopped sending to this sink, after a failed send or on shutdown.
+     */
+    void close();
+}
@@ -0,0 +1,178 @@
+package com.hitachi.drone.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.dto.DroneStateChangeResponse;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed drone state changes to subscribed {@link DroneStateSink}s. Every event is serialized once and
+ * offered to the queue of each matching subscriber; publishers never wait for a client. Each subscriber has at
+ * most {@code app.drone.stream.buffer-size} events queued and a virtual thread that drains the queue only while
+ * it has events, the same way drone actors run their mailboxes. Events for a subscriber whose queue is full are
+ * dropped and counted in {@code stream.events.dropped}. Heartbeats do not take a queue slot.
+ */
+@Component
+@Slf4j
+public class DroneStateStream {
+
+    private final int bufferSize;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    public DroneStateStream(AppProperties appProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        AppProperties.StreamProperties properties = appProperties.getDrone().getStream();
+        this.bufferSize = properties.getBufferSize();
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("stream.events.dropped")
+                .description("State change events dropped because a subscriber fell behind")
+                .register(meterRegistry);
+        Gauge.builder("stream.subscribers", subscribers, Set::size)
+                .description("Open state change streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the state changes of one drone, of drones entering one state, or of every drone when
+     * both filters are null.
+     */
+    public DroneStateSubscription subscribe(@Nullable String serialNumber, @Nullable DroneState state,
+                                            DroneStateSink sink) {
+        Subscriber subscriber = new Subscriber(sink, serialNumber, state);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new DroneStateChangeResponse(event.serialNumber(),
+                    event.previousState(), event.state(), Instant.now()));
+        } catch (JsonProcessingException ex) {
+            log.error("Cannot serialize state change of drone {}", event.serialNumber(), ex);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(json);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, which keeps idle connections open through proxies and finds clients
+     * that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.drone.stream.heartbeat-millis}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    public int size() {
+        return subscribers.size();
+    }
+
+    public double getDropped() {
+        return dropped.count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.sink.close());
+        executor.shutdownNow();
+    }
+
+    private final class Subscriber implements DroneStateSubscription {
+
+        private final DroneStateSink sink;
+        private final String serialNumber;
+        private final DroneState state;
+        private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(DroneStateSink sink, @Nullable String serialNumber, @Nullable DroneState state) {
+            this.sink = sink;
+            this.serialNumber = serialNumber;
+            this.state = state;
+        }
+
+        boolean matches(DroneStateChangedEvent event) {
+            return (serialNumber == null || serialNumber.equals(event.serialNumber()))
+                    && (state == null || state == event.state());
+        }
+
+        void offer(String json) {
+            if (!queue.offer(json)) {
+                dropped.increment();
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            subscribers.remove(this);
+            queue.clear();
+        }
+
+        private void schedule() {
+            if ((!queue.isEmpty() || heartbeatDue.get()) && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue.getAndSet(false)) {
+                    sink.heartbeat();
+                }
+                String json;
+                while ((json = queue.poll()) != null) {
+                    sink.send(json);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("State change subscriber went away: {}", ex.getMessage());
+                cancel();
+                sink.close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            schedule();
+        }
+    }
+}
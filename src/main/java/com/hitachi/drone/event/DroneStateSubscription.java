@@ -0,0 +1,9 @@
+package com.hitachi.drone.event;
+
+/**
+ * A subscription to the {@link DroneStateStream}; cancel it once its sink can no longer take changes.
+ */
+public interface DroneStateSubscription {
+
+    void cancel();
+}
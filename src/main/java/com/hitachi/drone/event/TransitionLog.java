@@ -0,0 +1,271 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of every committed drone state change, including loads, kept in {@code app.drone.event-log.path}.
+ * Records have a fixed size, so the n-th change is at offset {@code n * RECORD_BYTES} and its position doubles as
+ * its sequence number. The file is memory-mapped in segments of {@code segment-records} records: appending is a
+ * few stores into the page cache, and {@link #sync()} forces the dirty segments to disk every {@code fsync-millis},
+ * which bounds what a crash can lose. On startup the log continues after the last record found in the file. The
+ * file is locked for as long as the log is open, so a second instance pointed at the same path refuses to start
+ * instead of overwriting its records.
+ * <p>
+ * Record layout: timestamp in epoch millis (8 bytes, never 0 for a written record), previous and new state
+ * ordinals (1 byte each, -1 for none), serial number length (2 bytes) and the UTF-8 serial number. A record has
+ * room for the longest serial number a drone can be registered with: {@link DroneEntity#SERIAL_NUMBER_LENGTH}
+ * UTF-16 chars take at most three UTF-8 bytes each.
+ */
+@Component
+@Slf4j
+public class TransitionLog {
+
+    static final int SERIAL_NUMBER_BYTES = DroneEntity.SERIAL_NUMBER_LENGTH * 3;
+    static final int RECORD_BYTES = 12 + SERIAL_NUMBER_BYTES;
+
+    private static final DroneState[] STATES = DroneState.values();
+    private static final byte NO_STATE = -1;
+
+    private final boolean enabled;
+    private final int segmentRecords;
+    private final String path;
+    private final MeterRegistry meterRegistry;
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private FileChannel channel;
+    private volatile long size;
+    private int syncedSegment;
+
+    public TransitionLog(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.EventLogProperties properties = appProperties.getDrone().getEventLog();
+        this.enabled = properties.getEnabled();
+        this.segmentRecords = properties.getSegmentRecords();
+        this.path = properties.getPath();
+        this.meterRegistry = meterRegistry;
+        if (enabled && (long) segmentRecords * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Event log segments are limited to 2 GB: " + segmentRecords);
+        }
+    }
+
+    /**
+     * Opens and locks the file, maps the segments already written and registers the record gauge.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Path.of(path);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            lock(file);
+            recover();
+            log.info("Transition log {} opened with {} records", file, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open the transition log " + path, ex);
+        }
+        Gauge.builder("event.log.records", this, TransitionLog::size)
+                .description("Records in the transition log")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        append(event.serialNumber(), event.previousState(), event.state(), System.currentTimeMillis());
+    }
+
+    /**
+     * @return the sequence number of the record, or -1 when the log is disabled
+     * @throws IllegalArgumentException if the serial number is longer than a registered drone's can be
+     */
+    public synchronized long append(String serialNumber, @Nullable DroneState previousState, DroneState state,
+                                    long timestamp) {
+        if (!enabled) {
+            return -1;
+        }
+        byte[] serialNumberBytes = serialNumber.getBytes(StandardCharsets.UTF_8);
+        if (serialNumberBytes.length > SERIAL_NUMBER_BYTES) {
+            throw new IllegalArgumentException("Serial number too long for the transition log: " + serialNumber);
+        }
+        long sequence = size;
+        MappedByteBuffer segment = segment(sequence);
+        int offset = (int) (sequence % segmentRecords) * RECORD_BYTES;
+        segment.put(offset + 8, ordinal(previousState));
+        segment.put(offset + 9, ordinal(state));
+        segment.putShort(offset + 10, (short) serialNumberBytes.length);
+        segment.put(offset + 12, serialNumberBytes);
+        segment.putLong(offset, timestamp);
+        size = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Hands the records from {@code fromSequence} on to the consumer, oldest first, stopping at the end of the
+     * log as it was when the replay started.
+     *
+     * @return the sequence after the last record replayed
+     */
+    public long replay(long fromSequence, Consumer<DroneTransition> consumer) {
+        return replay(fromSequence, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads at most {@code limit} records starting at {@code fromSequence}. Tailing consumers pass the returned
+     * {@code nextSequence} back to get what was appended since.
+     */
+    public DroneTransitionPage read(long fromSequence, int limit) {
+        List<DroneTransition> transitions = new ArrayList<>();
+        long nextSequence = replay(fromSequence, limit, transitions::add);
+        return new DroneTransitionPage(transitions, nextSequence);
+    }
+
+    /**
+     * @return the last {@code limit} records, oldest first
+     */
+    public List<DroneTransition> tail(int limit) {
+        return read(Math.max(0, size - limit), limit).transitions();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Scheduled(fixedDelayString = "${app.drone.event-log.fsync-millis}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        List<MappedByteBuffer> dirty;
+        synchronized (this) {
+            dirty = List.copyOf(segments.subList(syncedSegment, segments.size()));
+            syncedSegment = Math.max(segments.size() - 1, 0);
+        }
+        dirty.forEach(MappedByteBuffer::force);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        sync();
+        channel.close();
+    }
+
+    private long replay(long fromSequence, long limit, Consumer<DroneTransition> consumer) {
+        long end = size;
+        long sequence = Math.max(fromSequence, 0);
+        for (long read = 0; sequence < end && read < limit; sequence++, read++) {
+            consumer.accept(readRecord(sequence));
+        }
+        return sequence;
+    }
+
+    private DroneTransition readRecord(long sequence) {
+        MappedByteBuffer segment = segments.get((int) (sequence / segmentRecords));
+        int offset = (int) (sequence % segmentRecords) * RECORD_BYTES;
+        byte[] serialNumber = new byte[segment.getShort(offset + 10)];
+        segment.get(offset + 12, serialNumber);
+        return new DroneTransition(sequence, Instant.ofEpochMilli(segment.getLong(offset)),
+                new String(serialNumber, StandardCharsets.UTF_8), state(segment.get(offset + 8)),
+                state(segment.get(offset + 9)));
+    }
+
+    /**
+     * Takes an exclusive lock on the whole file; it is released when the channel is closed.
+     */
+    private void lock(Path path) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("The transition log " + path
+                    + " is used by another instance; give every instance its own app.drone.event-log.path");
+        }
+    }
+
+    /**
+     * Maps the segments already in the file and finds the first unwritten record of the last one.
+     */
+    private void recover() throws IOException {
+        long segmentBytes = (long) segmentRecords * RECORD_BYTES;
+        long existing = (channel.size() + segmentBytes - 1) / segmentBytes;
+        for (int index = 0; index < existing; index++) {
+            map(index);
+        }
+        long records = existing * segmentRecords;
+        while (records > 0 && readTimestamp(records - 1) == 0) {
+            records--;
+        }
+        size = records;
+    }
+
+    private long readTimestamp(long sequence) {
+        return segments.get((int) (sequence / segmentRecords)).getLong((int) (sequence % segmentRecords) * RECORD_BYTES);
+    }
+
+    private MappedByteBuffer segment(long sequence) {
+        int index = (int) (sequence / segmentRecords);
+        if (index == segments.size()) {
+            try {
+                map(index);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot extend the transition log", ex);
+            }
+        }
+        return segments.get(index);
+    }
+
+    private void map(int index) throws IOException {
+        long segmentBytes = (long) segmentRecords * RECORD_BYTES;
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, index * segmentBytes, segmentBytes));
+    }
+
+    private static byte ordinal(@Nullable DroneState state) {
+        return state == null ? NO_STATE : (byte) state.ordinal();
+    }
+
+    @Nullable
+    private static DroneState state(byte ordinal) {
+        return ordinal == NO_STATE ? null : STATES[ordinal];
+    }
+}
@@ -0,0 +1,9 @@
+package com.hitachi.drone.model.domain;
+
+import java.time.Instant;
+
+/**
+ * Battery level reported by a drone at {@code timestamp}.
+ */
+public record BatteryReading(String serialNumber, double batteryCapacity, Instant timestamp) {
+}
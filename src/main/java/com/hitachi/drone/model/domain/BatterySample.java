@@ -0,0 +1,10 @@
+package com.hitachi.drone.model.domain;
+
+import java.time.Instant;
+
+/**
+ * Battery levels seen in the bucket starting at {@code timestamp}. A raw sample is a single reading, so its min,
+ * max and average are the same.
+ */
+public record BatterySample(Instant timestamp, double min, double max, double avg) {
+}
@@ -15,7 +15,7 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Data
 @ToString
-@Builder
+@Builder(toBuilder = true)
 public class Drone {
     String serialNumber;
     DroneModel model;
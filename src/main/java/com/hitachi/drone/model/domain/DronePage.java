@@ -0,0 +1,9 @@
+package com.hitachi.drone.model.domain;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated drone listing. {@code nextCursor} is null on the last page.
+ */
+public record DronePage(List<Drone> drones, String nextCursor) {
+}
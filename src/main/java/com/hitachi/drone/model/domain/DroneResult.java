@@ -0,0 +1,15 @@
+package com.hitachi.drone.model.domain;
+
+/**
+ * Outcome for one drone of a batch request: the resulting drone, or the reason it was left untouched.
+ */
+public record DroneResult(String serialNumber, Drone drone, String error) {
+
+    public static DroneResult success(Drone drone) {
+        return new DroneResult(drone.getSerialNumber(), drone, null);
+    }
+
+    public static DroneResult failure(String serialNumber, String error) {
+        return new DroneResult(serialNumber, null, error);
+    }
+}
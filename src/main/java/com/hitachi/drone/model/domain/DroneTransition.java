@@ -0,0 +1,12 @@
+package com.hitachi.drone.model.domain;
+
+import com.hitachi.drone.model.enums.DroneState;
+
+import java.time.Instant;
+
+/**
+ * A state change read back from the transition log. {@code sequence} is the position of the record in the log.
+ */
+public record DroneTransition(long sequence, Instant timestamp, String serialNumber, DroneState previousState,
+                              DroneState state) {
+}
@@ -0,0 +1,9 @@
+package com.hitachi.drone.model.domain;
+
+import java.util.List;
+
+/**
+ * Transitions read from the log. {@code nextSequence} is where the next read should start.
+ */
+public record DroneTransitionPage(List<DroneTransition> transitions, long nextSequence) {
+}
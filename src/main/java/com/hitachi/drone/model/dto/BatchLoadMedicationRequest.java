@@ -0,0 +1,15 @@
+package com.hitachi.drone.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Map;
+
+@Builder
+public record BatchLoadMedicationRequest(
+        @NotEmpty
+        Map<String, @NotEmpty List<@Valid MedicationRequest>> drones
+) {
+}
@@ -0,0 +1,22 @@
+package com.hitachi.drone.model.dto;
+
+import com.hitachi.drone.model.entity.DroneEntity;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record BatteryReadingRequest(
+        @NotBlank @Size(max = DroneEntity.SERIAL_NUMBER_LENGTH)
+        String serialNumber,
+        @NotNull @Min(0) @Max(100)
+        Double batteryCapacity,
+        @NotNull
+        Instant timestamp
+) {
+}
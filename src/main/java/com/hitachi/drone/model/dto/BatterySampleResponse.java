@@ -0,0 +1,14 @@
+package com.hitachi.drone.model.dto;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record BatterySampleResponse(
+        Instant timestamp,
+        Double min,
+        Double max,
+        Double avg
+) {
+}
@@ -0,0 +1,11 @@
+package com.hitachi.drone.model.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record DronePageResponse(
+        List<DroneResponse> drones,
+        String nextCursor) {
+}
@@ -1,5 +1,6 @@
 package com.hitachi.drone.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import java.util.List;
 
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record DroneResponse(
         String serialNumber,
         DroneModel model,
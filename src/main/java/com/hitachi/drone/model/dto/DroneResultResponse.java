@@ -0,0 +1,12 @@
+package com.hitachi.drone.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DroneResultResponse(
+        String serialNumber,
+        DroneResponse drone,
+        String error) {
+}
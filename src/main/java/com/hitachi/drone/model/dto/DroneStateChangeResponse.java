@@ -0,0 +1,15 @@
+package com.hitachi.drone.model.dto;
+
+import com.hitachi.drone.model.enums.DroneState;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record DroneStateChangeResponse(
+        String serialNumber,
+        DroneState previousState,
+        DroneState state,
+        Instant timestamp
+) {
+}
@@ -0,0 +1,16 @@
+package com.hitachi.drone.model.dto;
+
+import com.hitachi.drone.model.enums.DroneState;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record DroneTransitionResponse(
+        Long sequence,
+        Instant timestamp,
+        String serialNumber,
+        DroneState previousState,
+        DroneState state
+) {
+}
@@ -1,6 +1,7 @@
 package com.hitachi.drone.model.dto;
 
 
+import com.hitachi.drone.model.entity.DroneEntity;
 import com.hitachi.drone.model.enums.DroneModel;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -11,7 +12,7 @@ import lombok.Builder;
 
 @Builder
 public record RegisterDroneRequest(
-        @NotBlank @Size(max = 100)
+        @NotBlank @Size(max = DroneEntity.SERIAL_NUMBER_LENGTH)
         String serialNumber,
         @NotNull
         DroneModel model,
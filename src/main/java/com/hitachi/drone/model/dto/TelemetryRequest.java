@@ -0,0 +1,14 @@
+package com.hitachi.drone.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TelemetryRequest(
+        @NotEmpty @Valid
+        List<BatteryReadingRequest> readings
+) {
+}
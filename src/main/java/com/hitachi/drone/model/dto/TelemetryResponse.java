@@ -0,0 +1,7 @@
+package com.hitachi.drone.model.dto;
+
+public record TelemetryResponse(
+        int accepted,
+        int dropped
+) {
+}
@@ -10,9 +10,12 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,13 +23,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "drones")
+@Table(name = "drones", indexes = {
+        @Index(name = "idx_drones_bucket", columnList = "bucket"),
+        @Index(name = "idx_drones_state_serial_number", columnList = "state, serial_number"),
+        @Index(name = "idx_drones_state_model_current_weight", columnList = "state, model, current_weight")
+})
+/**
+ * Updates only write the columns that changed, so saving a drone read before a telemetry flush keeps the battery
+ * capacity the flush wrote, which does not bump the version.
+ */
+@DynamicUpdate
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Setter
@@ -35,11 +48,14 @@ import java.util.UUID;
 @Builder
 public class DroneEntity {
 
+    public static final int BUCKETS = 1024;
+    public static final int SERIAL_NUMBER_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     UUID id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, unique = true, length = SERIAL_NUMBER_LENGTH)
     String serialNumber;
 
     @Enumerated(EnumType.STRING)
@@ -53,6 +69,23 @@ public class DroneEntity {
     @Column(nullable = false)
     Double batteryCapacity;
 
+    @Column(nullable = false)
+    Integer bucket;
+
+    /**
+     * Total weight of the loaded medications, kept in step with {@link #medications} by its writers.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    Double currentWeight = 0.0;
+
+    /**
+     * Bumped on every update, so a writer holding a stale copy of the drone fails instead of overwriting it.
+     */
+    @Version
+    @Column(nullable = false)
+    Long version;
+
     @Builder.Default
     @OneToMany(
             mappedBy = "drone",
@@ -61,15 +94,28 @@ public class DroneEntity {
     )
     List<MedicationEntity> medications = new ArrayList<>();
 
-    @Transient
-    public Double getWeightLimit() {
-        return model.getWeightLimit();
+    @PrePersist
+    void assignDefaults() {
+        if (bucket == null) {
+            bucket = bucketOf(serialNumber);
+        }
+        if (currentWeight == null) {
+            currentWeight = 0.0;
+        }
+    }
+
+    public static int bucketOf(String serialNumber) {
+        int hash = serialNumber.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, BUCKETS);
     }
 
     @Transient
-    public Double getCurrentWeight() {
-        return medications.stream()
-                .mapToDouble(MedicationEntity::getWeight)
-                .sum();
+    public Double getWeightLimit() {
+        return model.getWeightLimit();
     }
 }
@@ -0,0 +1,36 @@
+package com.hitachi.drone.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "scheduler_leases")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLeaseEntity {
+
+    @Id
+    Integer partitionId;
+
+    @Column(length = 200)
+    String owner;
+
+    Instant heartbeatAt;
+
+    Instant expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.hitachi.drone.model.enums;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Granularity of the battery history: every reading, or the min, max and average per minute or hour.
+ */
+@Getter
+public enum BatteryResolution {
+    RAW(Duration.ZERO),
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1));
+
+    private final Duration bucket;
+
+    BatteryResolution(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.hitachi.drone.model.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a drone response that clients can select with the {@code fields} parameter.
+ */
+public enum DroneField {
+    SERIAL_NUMBER,
+    MODEL,
+    BATTERY_CAPACITY,
+    STATE,
+    MEDICATIONS,
+    WEIGHT_LIMIT,
+    CURRENT_WEIGHT;
+
+    /**
+     * Parses a comma separated list of snake_case field names; null selects every field.
+     */
+    public static Set<DroneField> parse(String fields) {
+        if (fields == null) {
+            return EnumSet.allOf(DroneField.class);
+        }
+        Set<DroneField> selected = EnumSet.noneOf(DroneField.class);
+        for (String field : fields.split(",")) {
+            if (field.isBlank()) {
+                continue;
+            }
+            try {
+                selected.add(valueOf(field.trim().toUpperCase()));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown drone field: " + field.trim(), ex);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return whether the selected fields can only be filled by loading the medications
+     */
+    public static boolean requiresMedications(Set<DroneField> fields) {
+        return fields.contains(MEDICATIONS);
+    }
+}
@@ -1,13 +1,29 @@
 package com.hitachi.drone.model.mapper;
 
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.domain.BatterySample;
 import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.DronePage;
+import com.hitachi.drone.model.domain.DroneResult;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
+import com.hitachi.drone.model.dto.BatteryReadingRequest;
+import com.hitachi.drone.model.dto.BatterySampleResponse;
+import com.hitachi.drone.model.dto.DronePageResponse;
 import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.dto.DroneResultResponse;
+import com.hitachi.drone.model.dto.DroneTransitionPageResponse;
+import com.hitachi.drone.model.dto.DroneTransitionResponse;
 import com.hitachi.drone.model.dto.RegisterDroneRequest;
 import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneField;
+import com.hitachi.drone.model.projection.DroneSummaryView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValueMappingStrategy;
 
 import java.util.List;
+import java.util.Set;
 
 @Mapper(componentModel = "spring", uses = {MedicationMapper.class}, nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface DroneMapper {
@@ -17,10 +33,65 @@ public interface DroneMapper {
 
     List<DroneResponse> toDTO(List<Drone> drones);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "bucket", ignore = true)
+    @Mapping(target = "version", ignore = true)
     DroneEntity toEntity(Drone drone);
 
     Drone toDomain(DroneEntity entity);
 
     List<Drone> toDomain(List<DroneEntity> entities);
 
+    @Mapping(target = "medications", ignore = true)
+    Drone toDomain(DroneSummaryView view);
+
+    List<Drone> toSummaryDomain(List<DroneSummaryView> views);
+
+    BatteryReading toDomain(BatteryReadingRequest request);
+
+    List<BatteryReading> toReadings(List<BatteryReadingRequest> requests);
+
+    BatterySampleResponse toDTO(BatterySample sample);
+
+    List<BatterySampleResponse> toSampleDTO(List<BatterySample> samples);
+
+    DroneTransitionResponse toDTO(DroneTransition transition);
+
+    List<DroneTransitionResponse> toTransitionDTO(List<DroneTransition> transitions);
+
+    DroneTransitionPageResponse toDTO(DroneTransitionPage page);
+
+    /**
+     * Maps only the selected fields; the others stay null and are left out of the JSON.
+     */
+    default DroneResponse toDTO(Drone drone, Set<DroneField> fields) {
+        DroneResponse response = toDTO(drone);
+        return DroneResponse.builder()
+                .serialNumber(fields.contains(DroneField.SERIAL_NUMBER) ? response.serialNumber() : null)
+                .model(fields.contains(DroneField.MODEL) ? response.model() : null)
+                .batteryCapacity(fields.contains(DroneField.BATTERY_CAPACITY) ? response.batteryCapacity() : null)
+                .state(fields.contains(DroneField.STATE) ? response.state() : null)
+                .medications(fields.contains(DroneField.MEDICATIONS) ? response.medications() : null)
+                .weightLimit(fields.contains(DroneField.WEIGHT_LIMIT) ? response.weightLimit() : null)
+                .currentWeight(fields.contains(DroneField.CURRENT_WEIGHT) ? response.currentWeight() : null)
+                .build();
+    }
+
+    default List<DroneResponse> toDTO(List<Drone> drones, Set<DroneField> fields) {
+        return drones.stream().map(drone -> toDTO(drone, fields)).toList();
+    }
+
+    default DronePageResponse toDTO(DronePage page, Set<DroneField> fields) {
+        return new DronePageResponse(toDTO(page.drones(), fields), page.nextCursor());
+    }
+
+    default DroneResultResponse toDTO(DroneResult result) {
+        return new DroneResultResponse(result.serialNumber(), result.drone() != null ? toDTO(result.drone()) : null,
+                result.error());
+    }
+
+    default List<DroneResultResponse> toResultDTO(List<DroneResult> results) {
+        return results.stream().map(this::toDTO).toList();
+    }
+
 }
@@ -0,0 +1,9 @@
+package com.hitachi.drone.model.projection;
+
+import com.hitachi.drone.model.enums.DroneState;
+
+public interface DroneStateView {
+    String getSerialNumber();
+
+    DroneState getState();
+}
@@ -0,0 +1,23 @@
+package com.hitachi.drone.model.projection;
+
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+
+/**
+ * Drone columns only, for reads that do not need the medications.
+ */
+public interface DroneSummaryView {
+    String getSerialNumber();
+
+    DroneModel getModel();
+
+    Double getBatteryCapacity();
+
+    DroneState getState();
+
+    Double getCurrentWeight();
+
+    default Double getWeightLimit() {
+        return getModel().getWeightLimit();
+    }
+}
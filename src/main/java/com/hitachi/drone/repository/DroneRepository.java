@@ -1,17 +1,124 @@
 package com.hitachi.drone.repository;
 
 import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.projection.DroneStateView;
+import com.hitachi.drone.model.projection.DroneSummaryView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface DroneRepository extends JpaRepository<DroneEntity, UUID> {
+public interface DroneRepository extends JpaRepository<DroneEntity, UUID>, DroneResponseRepository {
+    @EntityGraph(attributePaths = "medications")
     Optional<DroneEntity> findBySerialNumber(String serialNumber);
 
+    /**
+     * Drones in the given state, or every drone when {@code state} is null, the same filter as the page queries.
+     */
+    @EntityGraph(attributePaths = "medications")
+    @Query("SELECT d FROM DroneEntity d WHERE :state IS NULL OR d.state = :state")
     List<DroneEntity> findByStateIsNullOrState(DroneState state);
+
+    @EntityGraph(attributePaths = "medications")
+    @Query("SELECT d FROM DroneEntity d")
+    List<DroneEntity> findFleet();
+
+    @Query("SELECT d.serialNumber FROM DroneEntity d")
+    List<String> findAllSerialNumbers();
+
+    @Query("SELECT d.serialNumber FROM DroneEntity d WHERE d.serialNumber IN :serialNumbers")
+    Set<String> findSerialNumbersIn(Collection<String> serialNumbers);
+
+    @EntityGraph(attributePaths = "medications")
+    List<DroneEntity> findBySerialNumberIn(Collection<String> serialNumbers);
+
+    /**
+     * Keyset page of drones ordered by serial number. Medications are left to batch fetching, since a
+     * collection fetch join would make Hibernate apply the limit in memory.
+     */
+    @Query("""
+            SELECT d FROM DroneEntity d
+            WHERE (:state IS NULL OR d.state = :state)
+              AND (:afterSerialNumber IS NULL OR d.serialNumber > :afterSerialNumber)
+            ORDER BY d.serialNumber
+            """)
+    List<DroneEntity> findPage(DroneState state, String afterSerialNumber, Limit limit);
+
+    Optional<DroneSummaryView> findSummaryBySerialNumber(String serialNumber);
+
+    @Query("""
+            SELECT d.serialNumber AS serialNumber, d.model AS model, d.batteryCapacity AS batteryCapacity, d.state AS state,
+                   d.currentWeight AS currentWeight
+            FROM DroneEntity d
+            WHERE :state IS NULL OR d.state = :state
+            """)
+    List<DroneSummaryView> findSummaryByStateIsNullOrState(DroneState state);
+
+    List<DroneSummaryView> findSummaryByStateAndBatteryCapacityGreaterThanEqual(DroneState state, Double minBattery);
+
+    @Query("""
+            SELECT d.serialNumber AS serialNumber, d.model AS model, d.batteryCapacity AS batteryCapacity, d.state AS state,
+                   d.currentWeight AS currentWeight
+            FROM DroneEntity d
+            WHERE (:state IS NULL OR d.state = :state)
+              AND (:afterSerialNumber IS NULL OR d.serialNumber > :afterSerialNumber)
+            ORDER BY d.serialNumber
+            """)
+    List<DroneSummaryView> findSummaryPage(DroneState state, String afterSerialNumber, Limit limit);
+
+    /**
+     * Drones of one model in the given state with room for a payload, fullest first. Served by the
+     * (state, model, current_weight) index.
+     */
+    @Query("""
+            SELECT d.serialNumber AS serialNumber, d.model AS model, d.batteryCapacity AS batteryCapacity, d.state AS state,
+                   d.currentWeight AS currentWeight
+            FROM DroneEntity d
+            WHERE d.state = :state
+              AND d.model = :model
+              AND d.currentWeight <= :maxCurrentWeight
+              AND d.batteryCapacity >= :minBattery
+            ORDER BY d.currentWeight DESC
+            """)
+    List<DroneSummaryView> findAvailable(DroneState state, DroneModel model, Double maxCurrentWeight, Double minBattery,
+                                         Limit limit);
+
+    List<DroneStateView> findAllByStateNot(DroneState state);
+
+    boolean existsByStateNot(DroneState state);
+
+    List<DroneEntity> findByStateNotOrderById(DroneState state, Limit limit);
+
+    List<DroneEntity> findByStateNotAndIdGreaterThanOrderById(DroneState state, UUID id, Limit limit);
+
+    List<DroneEntity> findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(DroneState state, int fromBucket, int toBucket);
+
+    @Modifying
+    @Query("UPDATE DroneEntity d SET d.state = :to, d.version = d.version + 1 WHERE d.state = :from")
+    int updateState(DroneState from, DroneState to);
+
+    @Modifying
+    @Query("UPDATE DroneEntity d SET d.state = :to, d.currentWeight = 0.0, d.version = d.version + 1 WHERE d.state = :from")
+    int updateStateAndClearPayload(DroneState from, DroneState to);
+
+    @Modifying
+    @Query("""
+            UPDATE DroneEntity d
+            SET d.state = :to,
+                d.batteryCapacity = CASE WHEN d.batteryCapacity > :consumption THEN d.batteryCapacity - :consumption ELSE 0.0 END,
+                d.version = d.version + 1
+            WHERE d.state = :from
+            """)
+    int updateStateAndConsumeBattery(DroneState from, DroneState to, Double consumption);
 }
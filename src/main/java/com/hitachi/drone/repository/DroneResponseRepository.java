@@ -0,0 +1,21 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.enums.DroneState;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read path that builds response records straight from query rows, without managed entities or domain objects.
+ */
+public interface DroneResponseRepository {
+    Optional<DroneResponse> findResponseBySerialNumber(String serialNumber);
+
+    List<DroneResponse> findResponsesByStateIsNullOrState(DroneState state);
+
+    /**
+     * Same filter and order as {@link DroneRepository#findPage}.
+     */
+    List<DroneResponse> findResponsePage(DroneState state, String afterSerialNumber, int limit);
+}
@@ -0,0 +1,126 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.dto.MedicationResponse;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class DroneResponseRepositoryImpl implements DroneResponseRepository {
+
+    private static final String DRONES_WITH_MEDICATIONS = """
+            SELECT d.serialNumber, d.model, d.batteryCapacity, d.state, d.currentWeight, m.name, m.weight, m.code, m.image
+            FROM DroneEntity d LEFT JOIN d.medications m
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<DroneResponse> findResponseBySerialNumber(String serialNumber) {
+        List<Tuple> rows = entityManager.createQuery(DRONES_WITH_MEDICATIONS + "WHERE d.serialNumber = :serialNumber", Tuple.class)
+                .setParameter("serialNumber", serialNumber)
+                .getResultList();
+        return toResponses(rows).stream().findFirst();
+    }
+
+    @Override
+    public List<DroneResponse> findResponsesByStateIsNullOrState(DroneState state) {
+        List<Tuple> rows = entityManager.createQuery(DRONES_WITH_MEDICATIONS
+                        + "WHERE :state IS NULL OR d.state = :state ORDER BY d.serialNumber", Tuple.class)
+                .setParameter("state", state)
+                .getResultList();
+        return toResponses(rows);
+    }
+
+    @Override
+    public List<DroneResponse> findResponsePage(DroneState state, String afterSerialNumber, int limit) {
+        List<Tuple> drones = entityManager.createQuery("""
+                        SELECT d.id, d.serialNumber, d.model, d.batteryCapacity, d.state, d.currentWeight
+                        FROM DroneEntity d
+                        WHERE (:state IS NULL OR d.state = :state)
+                          AND (:afterSerialNumber IS NULL OR d.serialNumber > :afterSerialNumber)
+                        ORDER BY d.serialNumber
+                        """, Tuple.class)
+                .setParameter("state", state)
+                .setParameter("afterSerialNumber", afterSerialNumber)
+                .setMaxResults(limit)
+                .getResultList();
+        if (drones.isEmpty()) {
+            return List.of();
+        }
+
+        // a join would make the limit count medication rows, so the page's medications are read separately
+        Map<UUID, List<MedicationResponse>> medications = new HashMap<>();
+        entityManager.createQuery("""
+                        SELECT m.drone.id, m.name, m.weight, m.code, m.image
+                        FROM MedicationEntity m
+                        WHERE m.drone.id IN :droneIds
+                        """, Tuple.class)
+                .setParameter("droneIds", drones.stream().map(drone -> drone.get(0, UUID.class)).toList())
+                .getResultList()
+                .forEach(row -> medications.computeIfAbsent(row.get(0, UUID.class), id -> new ArrayList<>())
+                        .add(medication(row, 1)));
+
+        List<DroneResponse> responses = new ArrayList<>(drones.size());
+        for (Tuple drone : drones) {
+            List<MedicationResponse> droneMedications = medications.getOrDefault(drone.get(0, UUID.class), new ArrayList<>());
+            responses.add(drone(drone, 1, droneMedications));
+        }
+        return responses;
+    }
+
+    /**
+     * Folds the joined rows, which arrive grouped by drone, into one response per drone.
+     */
+    private static List<DroneResponse> toResponses(List<Tuple> rows) {
+        List<DroneResponse> responses = new ArrayList<>();
+        Tuple current = null;
+        List<MedicationResponse> medications = null;
+        for (Tuple row : rows) {
+            if (current == null || !current.get(0).equals(row.get(0))) {
+                if (current != null) {
+                    responses.add(drone(current, 0, medications));
+                }
+                current = row;
+                medications = new ArrayList<>();
+            }
+            if (row.get(5) != null) {
+                medications.add(medication(row, 5));
+            }
+        }
+        if (current != null) {
+            responses.add(drone(current, 0, medications));
+        }
+        return responses;
+    }
+
+    private static DroneResponse drone(Tuple row, int offset, List<MedicationResponse> medications) {
+        DroneModel model = row.get(offset + 1, DroneModel.class);
+        return new DroneResponse(
+                row.get(offset, String.class),
+                model,
+                row.get(offset + 2, Double.class),
+                row.get(offset + 3, DroneState.class),
+                medications,
+                model.getWeightLimit(),
+                row.get(offset + 4, Double.class));
+    }
+
+    private static MedicationResponse medication(Tuple row, int offset) {
+        return new MedicationResponse(
+                row.get(offset, String.class),
+                row.get(offset + 1, Double.class),
+                row.get(offset + 2, String.class),
+                row.get(offset + 3, String.class));
+    }
+}
@@ -1,11 +1,18 @@
 package com.hitachi.drone.repository;
 
 import com.hitachi.drone.model.entity.MedicationEntity;
+import com.hitachi.drone.model.enums.DroneState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
 public interface MedicationRepository extends JpaRepository<MedicationEntity, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM MedicationEntity m WHERE m.drone.id IN (SELECT d.id FROM DroneEntity d WHERE d.state = :state)")
+    int deleteByDroneState(DroneState state);
 }
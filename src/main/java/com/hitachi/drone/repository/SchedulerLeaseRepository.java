@@ -0,0 +1,39 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.model.entity.SchedulerLeaseEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLeaseEntity, Integer> {
+
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLeaseEntity l
+            SET l.owner = :owner, l.heartbeatAt = :now, l.expiresAt = :expiresAt
+            WHERE l.partitionId = :partitionId
+              AND (l.owner = :owner OR l.owner IS NULL OR l.expiresAt < :now)
+            """)
+    int tryAcquire(Integer partitionId, String owner, Instant now, Instant expiresAt);
+
+    @Modifying
+    @Query("UPDATE SchedulerLeaseEntity l SET l.owner = NULL, l.expiresAt = NULL WHERE l.partitionId = :partitionId AND l.owner = :owner")
+    int release(Integer partitionId, String owner);
+
+    @Modifying
+    @Query("UPDATE SchedulerLeaseEntity l SET l.owner = NULL, l.expiresAt = NULL WHERE l.owner = :owner")
+    int releaseAll(String owner);
+
+    List<SchedulerLeaseEntity> findByOwnerIsNullOrExpiresAtBeforeOrderByPartitionId(Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SchedulerLeaseEntity> findByPartitionIdAndOwnerAndExpiresAtAfter(Integer partitionId, String owner, Instant now);
+}
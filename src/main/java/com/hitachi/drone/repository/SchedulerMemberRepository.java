@@ -0,0 +1,19 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.model.entity.SchedulerMemberEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerMemberRepository extends JpaRepository<SchedulerMemberEntity, String> {
+
+    long countByHeartbeatAtAfter(Instant since);
+
+    @Modifying
+    @Query("DELETE FROM SchedulerMemberEntity m WHERE m.heartbeatAt < :before")
+    int deleteByHeartbeatAtBefore(Instant before);
+}
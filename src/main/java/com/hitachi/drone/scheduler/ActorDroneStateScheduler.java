@@ -0,0 +1,72 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.actor.DroneActors;
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.model.projection.DroneStateView;
+import com.hitachi.drone.repository.DroneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Posts one transition per active drone to that drone's actor, where it runs in its own transaction after any
+ * load already queued for the drone. The tick waits for every transition so its duration and report cover them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "actor")
+@RequiredArgsConstructor
+@Slf4j
+public class ActorDroneStateScheduler implements DroneStateProcessor {
+
+    private final DroneRepository droneRepository;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final DroneMapper droneMapper;
+    private final FleetCache fleetCache;
+    private final DroneActors droneActors;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public TickReport processDroneStates() {
+        List<CompletableFuture<TickReport>> transitions = new ArrayList<>();
+        for (DroneStateView drone : droneRepository.findAllByStateNot(DroneState.IDLE)) {
+            String serialNumber = drone.getSerialNumber();
+            transitions.add(droneActors.submit(serialNumber,
+                    () -> transactionTemplate.execute(status -> advance(serialNumber))));
+        }
+
+        TickReport report = new TickReport();
+        for (CompletableFuture<TickReport> transition : transitions) {
+            try {
+                report.merge(transition.join());
+            } catch (CompletionException ex) {
+                log.error("Drone state transition failed", ex.getCause());
+            }
+        }
+        return report;
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return droneRepository.existsByStateNot(DroneState.IDLE);
+    }
+
+    private TickReport advance(String serialNumber) {
+        TickReport report = new TickReport();
+        droneRepository.findBySerialNumber(serialNumber)
+                .filter(drone -> DroneStateTransitions.advance(drone, appProperties.getDrone(), report, eventPublisher))
+                .ifPresent(drone -> fleetCache.put(droneMapper.toDomain(drone)));
+        return report;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Advances the whole fleet with one bulk statement per state instead of loading every drone.
+ * States are processed from RETURNING down to LOADING so a drone moves at most one step per tick.
+ * The statements do not say which drones moved, so cached drones in an updated state are evicted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "bulk")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkDroneStateScheduler implements DroneStateProcessor {
+
+    private final DroneRepository droneRepository;
+    private final MedicationRepository medicationRepository;
+    private final AppProperties appProperties;
+    private final FleetCache fleetCache;
+
+    @Override
+    @Transactional
+    public TickReport processDroneStates() {
+        TickReport report = new TickReport();
+        int cleared = medicationRepository.deleteByDroneState(DroneState.RETURNING);
+        int returned = droneRepository.updateStateAndClearPayload(DroneState.RETURNING, DroneState.IDLE);
+        if (returned > 0) {
+            log.info("{} drones returned to base. Cleared {} medications.", returned, cleared);
+        }
+        report.recordMedicationsCleared(cleared);
+        report.recordTransition(DroneState.RETURNING, DroneState.IDLE, returned);
+        evictIfUpdated(DroneState.RETURNING, returned);
+
+        int delivered = droneRepository.updateStateAndConsumeBattery(DroneState.DELIVERED, DroneState.RETURNING,
+                appProperties.getDrone().getBatteryConsumptionPerDelivery());
+        if (delivered > 0) {
+            log.info("{} drones delivery completed. Reduced battery.", delivered);
+        }
+        report.recordBatteryDecrements(delivered);
+        report.recordTransition(DroneState.DELIVERED, DroneState.RETURNING, delivered);
+        evictIfUpdated(DroneState.DELIVERED, delivered);
+
+        advance(DroneState.DELIVERING, DroneState.DELIVERED, report);
+        advance(DroneState.LOADED, DroneState.DELIVERING, report);
+        advance(DroneState.LOADING, DroneState.LOADED, report);
+        report.recordScanned(report.getTransitioned());
+        return report;
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return droneRepository.existsByStateNot(DroneState.IDLE);
+    }
+
+    private void advance(DroneState from, DroneState to, TickReport report) {
+        int updated = droneRepository.updateState(from, to);
+        if (updated > 0) {
+            log.info("{} drones transitioning {} -> {}", updated, from, to);
+        }
+        report.recordTransition(from, to, updated);
+        evictIfUpdated(from, updated);
+    }
+
+    private void evictIfUpdated(DroneState state, int updated) {
+        if (updated > 0) {
+            fleetCache.evictState(state);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+
+public interface DroneStateProcessor {
+
+    TickReport processDroneStates();
+
+    boolean hasActiveDrones();
+
+    default long tickMillis(AppProperties.DroneProperties properties) {
+        return properties.getStateSchedulerFixedRate();
+    }
+}
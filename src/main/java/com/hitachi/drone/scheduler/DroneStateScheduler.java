@@ -1,63 +1,93 @@
 package com.hitachi.drone.scheduler;
 
+import com.hitachi.drone.cache.FleetCache;
 import com.hitachi.drone.config.AppProperties;
 import com.hitachi.drone.model.entity.DroneEntity;
 import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
 import com.hitachi.drone.repository.DroneRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Advances the whole fleet in one transaction. When that transaction loses an optimistic lock race nothing was
+ * applied, so the drones it advanced are read again and advanced one per transaction; a drone that conflicts
+ * again waits for the next tick instead of holding back the rest of the fleet.
+ */
 @Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "entity", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class DroneStateScheduler {
+public class DroneStateScheduler implements DroneStateProcessor {
 
     private final DroneRepository droneRepository;
     private final AppProperties appProperties;
+    private final DroneMapper droneMapper;
+    private final FleetCache fleetCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Scheduled(fixedRateString = "${app.drone.state-scheduler-fixed-rate}")
-    @Transactional
-    public void processDroneStates() {
+    @Override
+    public TickReport processDroneStates() {
+        List<UUID> advancedIds = new ArrayList<>();
+        try {
+            return transactionTemplate.execute(status -> advanceFleet(advancedIds));
+        } catch (OptimisticLockingFailureException ex) {
+            log.debug("Fleet update conflicted with a concurrent update, retrying {} drones one by one",
+                    advancedIds.size());
+            TickReport report = new TickReport();
+            report.recordConflicts(1);
+            advancedIds.forEach(id -> advanceDrone(id, report));
+            return report;
+        }
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return droneRepository.existsByStateNot(DroneState.IDLE);
+    }
+
+    private TickReport advanceFleet(List<UUID> advancedIds) {
+        TickReport report = new TickReport();
         List<DroneEntity> drones = droneRepository.findAll();
+        List<DroneEntity> advanced = new ArrayList<>();
         for (DroneEntity drone : drones) {
-            switch (drone.getState()) {
-                case LOADING -> {
-                    log.info("Drone {} transitioning LOADING -> LOADED", drone.getSerialNumber());
-                    log.trace(drone.toString());
-                    drone.setState(DroneState.LOADED);
-                }
-                case LOADED -> {
-                    log.info("Drone {} transitioning LOADED -> DELIVERING", drone.getSerialNumber());
-                    log.trace(drone.toString());
-                    drone.setState(DroneState.DELIVERING);
-                }
-                case DELIVERING -> {
-                    log.info("Drone {} transitioning DELIVERING -> DELIVERED", drone.getSerialNumber());
-                    log.trace(drone.toString());
-                    drone.setState(DroneState.DELIVERED);
-                }
-                case DELIVERED -> {
-                    log.info("Drone {} delivery completed. Reducing battery.", drone.getSerialNumber());
-                    log.trace(drone.toString());
-                    drone.setBatteryCapacity(Math.max(drone.getBatteryCapacity() - appProperties.getDrone().getBatteryConsumptionPerDelivery(), 0.0));
-                    drone.setState(DroneState.RETURNING);
-                }
-                case RETURNING -> {
-                    log.info("Drone {} returning to base. Clearing payload.", drone.getSerialNumber());
-                    log.trace(drone.toString());
-                    drone.getMedications().clear();
-                    drone.setState(DroneState.IDLE);
-                }
-                default -> {
-                }
+            if (DroneStateTransitions.advance(drone, appProperties.getDrone(), report, eventPublisher)) {
+                advanced.add(drone);
+                advancedIds.add(drone.getId());
             }
         }
 
         droneRepository.saveAll(drones);
+        fleetCache.putAll(droneMapper.toDomain(advanced));
+        return report;
+    }
+
+    private void advanceDrone(UUID id, TickReport report) {
+        TickReport droneReport = new TickReport();
+        try {
+            transactionTemplate.execute(status -> droneRepository.findById(id)
+                    .filter(drone -> DroneStateTransitions.advance(drone, appProperties.getDrone(), droneReport,
+                            eventPublisher))
+                    .map(drone -> {
+                        droneRepository.save(drone);
+                        fleetCache.put(droneMapper.toDomain(drone));
+                        return drone;
+                    })
+                    .orElse(null));
+            report.merge(droneReport);
+        } catch (OptimisticLockingFailureException ex) {
+            report.recordConflicts(1);
+            log.debug("Drone {} was updated concurrently, retrying on the next tick", id);
+        }
     }
 }
@@ -0,0 +1,131 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.model.enums.DroneState;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Self-scheduling driver for the active {@link DroneStateProcessor}. Ticks run at the processor's rate while
+ * drones are active and back off to {@code state-scheduler-idle-rate} once the fleet is idle; loading a drone
+ * wakes an idle loop right away, while an active loop keeps its rate. A tick that overruns the rate never queues
+ * up the missed ticks: they are merged into the next aligned slot and counted.
+ * <p>
+ * Every scheduled tick carries the generation it was scheduled in, and only the latest generation runs. A tick
+ * replaced by a wake-up is therefore skipped even if it was already dispatched when it was cancelled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DroneStateSchedulerLoop {
+
+    private final DroneStateProcessor processor;
+    private final AppProperties appProperties;
+    private final TaskScheduler taskScheduler;
+    private final SchedulerMetrics schedulerMetrics;
+
+    private ScheduledFuture<?> nextTick;
+    private long generation;
+    private boolean running;
+    private boolean idle;
+    private boolean wakeRequested;
+    private boolean stopped;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        scheduleTick(0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        if (event.state() == DroneState.LOADING) {
+            wake();
+        }
+    }
+
+    public synchronized void wake() {
+        if (running) {
+            wakeRequested = true;
+        } else if (idle && nextTick != null) {
+            log.debug("Waking drone state scheduler");
+            nextTick.cancel(false);
+            scheduleTick(0);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        stopped = true;
+        if (nextTick != null) {
+            nextTick.cancel(false);
+        }
+    }
+
+    private void tick(long scheduledGeneration) {
+        synchronized (this) {
+            if (stopped || scheduledGeneration != generation) {
+                return;
+            }
+            running = true;
+            wakeRequested = false;
+        }
+
+        long rate = processor.tickMillis(appProperties.getDrone());
+        long started = System.currentTimeMillis();
+        boolean active = true;
+        try {
+            schedulerMetrics.record(processor.processDroneStates());
+            active = processor.hasActiveDrones();
+        } catch (OptimisticLockingFailureException ex) {
+            schedulerMetrics.recordConflict();
+            log.warn("Drone state scheduler tick rolled back after a concurrent update, retrying next tick: {}",
+                    ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Drone state scheduler tick failed", ex);
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        schedulerMetrics.recordTick(Duration.ofMillis(elapsed));
+
+        long delay = rate - elapsed;
+        if (elapsed >= rate) {
+            long missed = elapsed / rate;
+            schedulerMetrics.recordOverrun(missed);
+            log.warn("Drone state scheduler tick took {} ms with a rate of {} ms, merged {} missed ticks",
+                    elapsed, rate, missed);
+            delay = (missed + 1) * rate - elapsed;
+        }
+
+        synchronized (this) {
+            running = false;
+            idle = !active && !wakeRequested;
+            if (!active && wakeRequested) {
+                delay = 0;
+            } else if (idle) {
+                delay = appProperties.getDrone().getStateSchedulerIdleRate();
+            }
+            scheduleTick(delay);
+        }
+    }
+
+    private void scheduleTick(long delayMillis) {
+        if (!stopped) {
+            long scheduledGeneration = ++generation;
+            nextTick = taskScheduler.schedule(() -> tick(scheduledGeneration), Instant.now().plusMillis(delayMillis));
+        }
+    }
+}
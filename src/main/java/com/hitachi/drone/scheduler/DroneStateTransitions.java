@@ -0,0 +1,65 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+@Slf4j
+public final class DroneStateTransitions {
+
+    private DroneStateTransitions() {
+    }
+
+    /**
+     * Moves the drone one step forward in its delivery cycle and publishes the change. Callers run it inside the
+     * transaction that saves the drone, so transactional listeners only see committed transitions.
+     *
+     * @return {@code false} when the drone has nothing to do (IDLE)
+     */
+    public static boolean advance(DroneEntity drone, AppProperties.DroneProperties properties, TickReport report,
+                                  ApplicationEventPublisher eventPublisher) {
+        DroneState previousState = drone.getState();
+        report.recordScanned(1);
+        switch (previousState) {
+            case LOADING -> {
+                log.info("Drone {} transitioning LOADING -> LOADED", drone.getSerialNumber());
+                log.trace(drone.toString());
+                drone.setState(DroneState.LOADED);
+            }
+            case LOADED -> {
+                log.info("Drone {} transitioning LOADED -> DELIVERING", drone.getSerialNumber());
+                log.trace(drone.toString());
+                drone.setState(DroneState.DELIVERING);
+            }
+            case DELIVERING -> {
+                log.info("Drone {} transitioning DELIVERING -> DELIVERED", drone.getSerialNumber());
+                log.trace(drone.toString());
+                drone.setState(DroneState.DELIVERED);
+            }
+            case DELIVERED -> {
+                log.info("Drone {} delivery completed. Reducing battery.", drone.getSerialNumber());
+                log.trace(drone.toString());
+                drone.setBatteryCapacity(Math.max(drone.getBatteryCapacity() - properties.getBatteryConsumptionPerDelivery(), 0.0));
+                drone.setState(DroneState.RETURNING);
+                report.recordBatteryDecrements(1);
+            }
+            case RETURNING -> {
+                log.info("Drone {} returning to base. Clearing payload.", drone.getSerialNumber());
+                log.trace(drone.toString());
+                report.recordMedicationsCleared(drone.getMedications().size());
+                drone.getMedications().clear();
+                drone.setCurrentWeight(0.0);
+                drone.setState(DroneState.IDLE);
+            }
+            default -> {
+                return false;
+            }
+        }
+        report.recordTransition(previousState, drone.getState(), 1);
+        eventPublisher.publishEvent(new DroneStateChangedEvent(drone.getSerialNumber(), previousState, drone.getState()));
+        return true;
+    }
+}
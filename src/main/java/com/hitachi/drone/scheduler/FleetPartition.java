@@ -0,0 +1,18 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.model.entity.DroneEntity;
+
+/**
+ * A contiguous range of drone buckets ({@code fromBucket} inclusive, {@code toBucket} exclusive).
+ */
+public record FleetPartition(int index, int fromBucket, int toBucket) {
+
+    public static FleetPartition of(int index, int partitions) {
+        if (partitions <= 0 || partitions > DroneEntity.BUCKETS || index < 0 || index >= partitions) {
+            throw new IllegalArgumentException("Invalid partition " + index + " of " + partitions);
+        }
+        return new FleetPartition(index,
+                index * DroneEntity.BUCKETS / partitions,
+                (index + 1) * DroneEntity.BUCKETS / partitions);
+    }
+}
@@ -0,0 +1,121 @@
+package com.hitachi.drone.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed hierarchical timing wheel. Each level has {@code wheelSize} buckets of {@code tickMillis}; items
+ * beyond the range of a level go to a lazily created overflow level whose tick is the full range of the level
+ * below, and are cascaded down as time reaches their bucket. Scheduling and expiry are O(1) per item, so the
+ * cost of {@link #advance(long)} depends on the number of due items and elapsed ticks, not on how many items
+ * are waiting.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final List<List<Entry<T>>> buckets;
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTime;
+    private int size;
+    private HierarchicalTimingWheel<T> overflowWheel;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.currentTime = startMillis - (startMillis % tickMillis);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized void schedule(T item, long expirationMillis) {
+        Entry<T> entry = new Entry<>(item, expirationMillis);
+        if (!place(entry)) {
+            overdue.add(item);
+        }
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every item whose expiration has passed.
+     * Items fire at most one tick late and never early.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        while (size > expired.size() && currentTime + tickMillis <= nowMillis) {
+            if (overflowWheel != null) {
+                List<Entry<T>> cascaded = new ArrayList<>();
+                overflowWheel.cascade(currentTime, cascaded);
+                cascaded.stream()
+                        .filter(entry -> !place(entry))
+                        .forEach(entry -> expired.add(entry.item()));
+            }
+            List<Entry<T>> bucket = buckets.get(index(currentTime));
+            bucket.forEach(entry -> expired.add(entry.item()));
+            bucket.clear();
+            currentTime += tickMillis;
+        }
+
+        size -= expired.size();
+        if (size == 0) {
+            overflowWheel = null;
+            currentTime = Math.max(currentTime, nowMillis - (nowMillis % tickMillis));
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void cascade(long time, List<Entry<T>> out) {
+        while (currentTime <= time) {
+            if (overflowWheel != null) {
+                List<Entry<T>> cascaded = new ArrayList<>();
+                overflowWheel.cascade(currentTime, cascaded);
+                cascaded.stream()
+                        .filter(entry -> !place(entry))
+                        .forEach(out::add);
+            }
+            List<Entry<T>> bucket = buckets.get(index(currentTime));
+            out.addAll(bucket);
+            bucket.clear();
+            currentTime += tickMillis;
+        }
+    }
+
+    private boolean place(Entry<T> entry) {
+        long expiration = entry.expirationMillis();
+        if (expiration < currentTime) {
+            return false;
+        }
+        if (expiration < currentTime + intervalMillis) {
+            buckets.get(index(expiration)).add(entry);
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new HierarchicalTimingWheel<>(intervalMillis, wheelSize, currentTime + intervalMillis);
+        }
+        return overflowWheel.place(entry);
+    }
+
+    private int index(long time) {
+        return (int) ((time / tickMillis) % wheelSize);
+    }
+
+    private record Entry<T>(T item, long expirationMillis) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.SchedulerLeaseEntity;
+import com.hitachi.drone.model.entity.SchedulerMemberEntity;
+import com.hitachi.drone.repository.SchedulerLeaseRepository;
+import com.hitachi.drone.repository.SchedulerMemberRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the scheduler partitions between application instances through lease rows in the application
+ * datasource. Every heartbeat an instance renews its leases, sheds partitions above its fair share and picks up
+ * free or expired ones, so partitions of a dead instance move to the survivors once its leases expire. Only the
+ * partitioned scheduler honours leases, so any other scheduler mode refuses to start with clustering enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.cluster.enabled", havingValue = "true")
+@Slf4j
+public class PartitionLeaseManager {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerMemberRepository memberRepository;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Integer, Instant> ownedLeases = new ConcurrentHashMap<>();
+    @Getter
+    private final String instanceId;
+
+    public PartitionLeaseManager(SchedulerLeaseRepository leaseRepository, SchedulerMemberRepository memberRepository,
+                                 AppProperties appProperties, TransactionTemplate transactionTemplate) {
+        this.leaseRepository = leaseRepository;
+        this.memberRepository = memberRepository;
+        this.appProperties = appProperties;
+        this.transactionTemplate = transactionTemplate;
+        SchedulerMode mode = appProperties.getDrone().getSchedulerMode();
+        if (mode != SchedulerMode.PARTITIONED) {
+            throw new IllegalStateException("app.drone.cluster.enabled requires app.drone.scheduler-mode=partitioned, "
+                    + "the " + mode + " scheduler does not respect partition leases");
+        }
+        String configuredId = appProperties.getDrone().getCluster().getInstanceId();
+        this.instanceId = StringUtils.hasText(configuredId)
+                ? configuredId
+                : ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createLeases() {
+        int partitions = appProperties.getDrone().getSchedulerPartitions();
+        for (int partition = 0; partition < partitions; partition++) {
+            if (leaseRepository.existsById(partition)) {
+                continue;
+            }
+            try {
+                leaseRepository.saveAndFlush(SchedulerLeaseEntity.builder().partitionId(partition).build());
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Lease for partition {} created by another instance", partition);
+            }
+        }
+        log.info("Scheduler instance {} joining cluster", instanceId);
+    }
+
+    @Scheduled(fixedRateString = "${app.drone.cluster.heartbeat-millis}")
+    @Transactional
+    public void heartbeat() {
+        Instant now = Instant.now();
+        Duration leaseDuration = Duration.ofMillis(appProperties.getDrone().getCluster().getLeaseMillis());
+        Instant expiresAt = now.plus(leaseDuration);
+
+        memberRepository.save(SchedulerMemberEntity.builder().instanceId(instanceId).heartbeatAt(now).build());
+        memberRepository.deleteByHeartbeatAtBefore(now.minus(leaseDuration));
+        long members = Math.max(memberRepository.countByHeartbeatAtAfter(now.minus(leaseDuration)), 1);
+        int partitions = appProperties.getDrone().getSchedulerPartitions();
+        long fairShare = (partitions + members - 1) / members;
+
+        for (Integer partition : Set.copyOf(ownedLeases.keySet())) {
+            if (leaseRepository.tryAcquire(partition, instanceId, now, expiresAt) == 1) {
+                ownedLeases.put(partition, expiresAt);
+            } else {
+                log.warn("Instance {} lost lease on partition {}", instanceId, partition);
+                ownedLeases.remove(partition);
+            }
+        }
+
+        List<Integer> surplus = ownedLeases.keySet().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(Math.max(ownedLeases.size() - fairShare, 0))
+                .toList();
+        for (Integer partition : surplus) {
+            leaseRepository.release(partition, instanceId);
+            ownedLeases.remove(partition);
+            log.info("Instance {} released partition {}", instanceId, partition);
+        }
+
+        for (SchedulerLeaseEntity lease : leaseRepository.findByOwnerIsNullOrExpiresAtBeforeOrderByPartitionId(now)) {
+            if (ownedLeases.size() >= fairShare) {
+                break;
+            }
+            if (lease.getPartitionId() < partitions
+                    && leaseRepository.tryAcquire(lease.getPartitionId(), instanceId, now, expiresAt) == 1) {
+                ownedLeases.put(lease.getPartitionId(), expiresAt);
+                log.info("Instance {} acquired partition {}", instanceId, lease.getPartitionId());
+            }
+        }
+    }
+
+    public boolean owns(int partition) {
+        Instant expiresAt = ownedLeases.get(partition);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Locks the lease row for the rest of the caller's transaction, so the partition cannot be taken over while
+     * its drones are being advanced.
+     */
+    public boolean lock(int partition) {
+        return leaseRepository.findByPartitionIdAndOwnerAndExpiresAtAfter(partition, instanceId, Instant.now()).isPresent();
+    }
+
+    @PreDestroy
+    public void leave() {
+        ownedLeases.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            leaseRepository.releaseAll(instanceId);
+            memberRepository.deleteById(instanceId);
+        });
+        log.info("Scheduler instance {} left cluster", instanceId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.repository.DroneRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the fleet into bucket-range partitions and advances each partition in its own transaction on a
+ * virtual thread. A slow or failed partition does not hold up the others within a tick; the tick waits for all
+ * of them and returns their merged report, so overruns and metrics are recorded by the loop as in every other
+ * mode. With {@code app.drone.cluster.enabled} only the partitions leased to this instance are processed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "partitioned")
+@Slf4j
+public class PartitionedDroneStateScheduler implements DroneStateProcessor {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DroneRepository droneRepository;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionLeaseManager leaseManager;
+    private final DroneMapper droneMapper;
+    private final FleetCache fleetCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int partitions;
+
+    public PartitionedDroneStateScheduler(DroneRepository droneRepository, AppProperties appProperties,
+                                          TransactionTemplate transactionTemplate,
+                                          ObjectProvider<PartitionLeaseManager> leaseManager, DroneMapper droneMapper,
+                                          FleetCache fleetCache, ApplicationEventPublisher eventPublisher) {
+        this.droneRepository = droneRepository;
+        this.appProperties = appProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseManager = leaseManager.getIfAvailable();
+        this.droneMapper = droneMapper;
+        this.fleetCache = fleetCache;
+        this.eventPublisher = eventPublisher;
+        this.partitions = appProperties.getDrone().getSchedulerPartitions();
+    }
+
+    @Override
+    public TickReport processDroneStates() {
+        List<Future<TickReport>> futures = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            if (leaseManager == null || leaseManager.owns(partition)) {
+                FleetPartition fleetPartition = FleetPartition.of(partition, partitions);
+                futures.add(executor.submit(() -> runPartition(fleetPartition)));
+            }
+        }
+        TickReport report = new TickReport();
+        try {
+            for (Future<TickReport> future : futures) {
+                report.merge(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Partition task failed", ex.getCause());
+        }
+        return report;
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return droneRepository.existsByStateNot(DroneState.IDLE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Partitions still running after {}, interrupting them", SHUTDOWN_TIMEOUT);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TickReport runPartition(FleetPartition partition) {
+        try {
+            return transactionTemplate.execute(status -> processPartition(partition));
+        } catch (OptimisticLockingFailureException ex) {
+            log.warn("Partition {} rolled back after a concurrent update, retrying next tick", partition.index());
+            TickReport report = new TickReport();
+            report.recordConflicts(1);
+            return report;
+        } catch (RuntimeException ex) {
+            log.error("Partition {} failed", partition.index(), ex);
+            return null;
+        }
+    }
+
+    private TickReport processPartition(FleetPartition partition) {
+        TickReport report = new TickReport();
+        if (leaseManager != null && !leaseManager.lock(partition.index())) {
+            log.debug("Lease on partition {} no longer held, skipping", partition.index());
+            return report;
+        }
+        List<DroneEntity> drones = droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(
+                DroneState.IDLE, partition.fromBucket(), partition.toBucket());
+        for (DroneEntity drone : drones) {
+            if (DroneStateTransitions.advance(drone, appProperties.getDrone(), report, eventPublisher)) {
+                fleetCache.put(droneMapper.toDomain(drone));
+            }
+        }
+        return report;
+    }
+}
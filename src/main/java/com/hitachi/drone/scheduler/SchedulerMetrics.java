@@ -0,0 +1,102 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SchedulerMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer tickTimer;
+    private final DistributionSummary scanned;
+    private final DistributionSummary transitioned;
+    private final Counter batteryDecrements;
+    private final Counter medicationsCleared;
+    private final Counter overruns;
+    private final Counter skippedTicks;
+    private final Counter conflicts;
+    private final Map<TickReport.Transition, Counter> transitions = new ConcurrentHashMap<>();
+
+    public SchedulerMetrics(MeterRegistry meterRegistry, AppProperties appProperties, DroneStateProcessor processor) {
+        this.meterRegistry = meterRegistry;
+        this.tickTimer = Timer.builder("drone.scheduler.tick")
+                .description("Duration of a drone state scheduler tick")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.scanned = DistributionSummary.builder("drone.scheduler.scanned")
+                .description("Drones read per tick")
+                .baseUnit("drones")
+                .register(meterRegistry);
+        this.transitioned = DistributionSummary.builder("drone.scheduler.transitioned")
+                .description("Drones moved to their next state per tick")
+                .baseUnit("drones")
+                .register(meterRegistry);
+        this.batteryDecrements = Counter.builder("drone.scheduler.battery.decrements")
+                .description("Battery decrements applied after deliveries")
+                .register(meterRegistry);
+        this.medicationsCleared = Counter.builder("drone.scheduler.medications.cleared")
+                .description("Medications removed from returning drones")
+                .register(meterRegistry);
+        this.overruns = Counter.builder("drone.scheduler.overruns")
+                .description("Ticks that took longer than the scheduler rate")
+                .register(meterRegistry);
+        this.skippedTicks = Counter.builder("drone.scheduler.skipped.ticks")
+                .description("Ticks merged into a later tick after an overrun")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("drone.scheduler.conflicts")
+                .description("Scheduler writes rolled back because a drone was updated concurrently")
+                .register(meterRegistry);
+        Gauge.builder("drone.scheduler.rate", processor, active -> active.tickMillis(appProperties.getDrone()))
+                .description("Tick rate of the active scheduler mode, to compare tick durations against")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        transition(DroneState.LOADING, DroneState.LOADED);
+        transition(DroneState.LOADED, DroneState.DELIVERING);
+        transition(DroneState.DELIVERING, DroneState.DELIVERED);
+        transition(DroneState.DELIVERED, DroneState.RETURNING);
+        transition(DroneState.RETURNING, DroneState.IDLE);
+    }
+
+    public void recordTick(Duration duration) {
+        tickTimer.record(duration);
+    }
+
+    public void record(TickReport report) {
+        scanned.record(report.getScanned());
+        transitioned.record(report.getTransitioned());
+        batteryDecrements.increment(report.getBatteryDecrements());
+        medicationsCleared.increment(report.getMedicationsCleared());
+        conflicts.increment(report.getConflicts());
+        report.getTransitions().forEach((transition, count) ->
+                transition(transition.from(), transition.to()).increment(count));
+    }
+
+    public void recordOverrun(long missedTicks) {
+        overruns.increment();
+        skippedTicks.increment(missedTicks);
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    private Counter transition(DroneState from, DroneState to) {
+        return transitions.computeIfAbsent(new TickReport.Transition(from, to), transition ->
+                Counter.builder("drone.scheduler.transitions")
+                        .description("Drone state transitions applied by the scheduler")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,10 @@
+package com.hitachi.drone.scheduler;
+
+public enum SchedulerMode {
+    ENTITY,
+    BULK,
+    WHEEL,
+    STREAMING,
+    PARTITIONED,
+    ACTOR
+}
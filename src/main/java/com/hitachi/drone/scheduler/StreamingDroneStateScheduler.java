@@ -0,0 +1,93 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.repository.DroneRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Walks the active drones in id order, one chunk per transaction. The persistence context is flushed and
+ * cleared after every chunk so memory use and lock hold times do not grow with the fleet. A chunk that loses an
+ * optimistic lock race is read and applied again once; if it conflicts again the rest of the fleet waits for the
+ * next tick.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "streaming")
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingDroneStateScheduler implements DroneStateProcessor {
+
+    private final DroneRepository droneRepository;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final DroneMapper droneMapper;
+    private final FleetCache fleetCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public TickReport processDroneStates() {
+        TickReport report = new TickReport();
+        int chunks = 0;
+        UUID lastId = null;
+        do {
+            UUID afterId = lastId;
+            try {
+                lastId = processChunkWithRetry(afterId, report);
+            } catch (OptimisticLockingFailureException ex) {
+                report.recordConflicts(1);
+                log.warn("Chunk after {} conflicted twice with concurrent updates, ending tick", afterId);
+                break;
+            }
+            chunks++;
+        } while (lastId != null);
+        log.debug("Processed {} chunks", chunks);
+        return report;
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return droneRepository.existsByStateNot(DroneState.IDLE);
+    }
+
+    private UUID processChunkWithRetry(UUID afterId, TickReport report) {
+        try {
+            return transactionTemplate.execute(status -> processChunk(afterId, report));
+        } catch (OptimisticLockingFailureException ex) {
+            report.recordConflicts(1);
+            log.debug("Chunk after {} conflicted with a concurrent update, retrying", afterId);
+            return transactionTemplate.execute(status -> processChunk(afterId, report));
+        }
+    }
+
+    private UUID processChunk(UUID afterId, TickReport report) {
+        int chunkSize = appProperties.getDrone().getSchedulerChunkSize();
+        List<DroneEntity> chunk = afterId == null
+                ? droneRepository.findByStateNotOrderById(DroneState.IDLE, Limit.of(chunkSize))
+                : droneRepository.findByStateNotAndIdGreaterThanOrderById(DroneState.IDLE, afterId, Limit.of(chunkSize));
+
+        for (DroneEntity drone : chunk) {
+            if (DroneStateTransitions.advance(drone, appProperties.getDrone(), report, eventPublisher)) {
+                fleetCache.put(droneMapper.toDomain(drone));
+            }
+        }
+
+        droneRepository.flush();
+        entityManager.clear();
+        return chunk.size() < chunkSize ? null : chunk.getLast().getId();
+    }
+}
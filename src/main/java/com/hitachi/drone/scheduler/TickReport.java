@@ -0,0 +1,62 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.model.enums.DroneState;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class TickReport {
+
+    private long scanned;
+    private long batteryDecrements;
+    private long medicationsCleared;
+    private long conflicts;
+    private final Map<Transition, Long> transitions = new HashMap<>();
+
+    public void recordScanned(long count) {
+        scanned += count;
+    }
+
+    public void recordTransition(DroneState from, DroneState to, long count) {
+        if (count > 0) {
+            transitions.merge(new Transition(from, to), count, Long::sum);
+        }
+    }
+
+    public void recordBatteryDecrements(long count) {
+        batteryDecrements += count;
+    }
+
+    public void recordMedicationsCleared(long count) {
+        medicationsCleared += count;
+    }
+
+    public void recordConflicts(long count) {
+        conflicts += count;
+    }
+
+    public void merge(TickReport other) {
+        if (other == null) {
+            return;
+        }
+        scanned += other.scanned;
+        batteryDecrements += other.batteryDecrements;
+        medicationsCleared += other.medicationsCleared;
+        conflicts += other.conflicts;
+        other.transitions.forEach((transition, count) -> transitions.merge(transition, count, Long::sum));
+    }
+
+    public long getTransitioned() {
+        return transitions.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Map<Transition, Long> getTransitions() {
+        return Collections.unmodifiableMap(transitions);
+    }
+
+    public record Transition(DroneState from, DroneState to) {
+    }
+}
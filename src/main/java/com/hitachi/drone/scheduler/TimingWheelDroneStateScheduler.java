@@ -0,0 +1,137 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.model.projection.DroneStateView;
+import com.hitachi.drone.repository.DroneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-driven scheduler: every active drone has exactly one pending transition in a timing wheel, due after
+ * the dwell time configured for its current state. Only due drones are read and written on a tick.
+ */
+@Component
+@ConditionalOnProperty(name = "app.drone.scheduler-mode", havingValue = "wheel")
+@Slf4j
+public class TimingWheelDroneStateScheduler implements DroneStateProcessor {
+
+    private final DroneRepository droneRepository;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final DroneMapper droneMapper;
+    private final FleetCache fleetCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public TimingWheelDroneStateScheduler(DroneRepository droneRepository, AppProperties appProperties,
+                                          TransactionTemplate transactionTemplate, DroneMapper droneMapper,
+                                          FleetCache fleetCache, ApplicationEventPublisher eventPublisher) {
+        this.droneRepository = droneRepository;
+        this.appProperties = appProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.droneMapper = droneMapper;
+        this.fleetCache = fleetCache;
+        this.eventPublisher = eventPublisher;
+        AppProperties.WheelProperties wheelProperties = appProperties.getDrone().getWheel();
+        this.wheel = new HierarchicalTimingWheel<>(wheelProperties.getTickMillis(), wheelProperties.getWheelSize(),
+                System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveDrones() {
+        for (DroneStateView drone : droneRepository.findAllByStateNot(DroneState.IDLE)) {
+            schedule(drone.getSerialNumber(), drone.getState());
+        }
+        log.info("Scheduled {} active drones", wheel.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        if (event.state() == DroneState.LOADING) {
+            schedule(event.serialNumber(), event.state());
+        }
+    }
+
+    @Override
+    public TickReport processDroneStates() {
+        TickReport report = new TickReport();
+        for (String serialNumber : wheel.advance(System.currentTimeMillis())) {
+            pending.remove(serialNumber);
+            DroneState state;
+            try {
+                state = transactionTemplate.execute(status -> advance(serialNumber, report));
+            } catch (OptimisticLockingFailureException ex) {
+                report.recordConflicts(1);
+                log.debug("Drone {} was updated concurrently, retrying on the next tick", serialNumber);
+                retry(serialNumber);
+                continue;
+            } catch (RuntimeException ex) {
+                log.error("Failed to advance drone {}, retrying on the next tick", serialNumber, ex);
+                retry(serialNumber);
+                continue;
+            }
+            if (state != null) {
+                schedule(serialNumber, state);
+            }
+        }
+        return report;
+    }
+
+    @Override
+    public boolean hasActiveDrones() {
+        return !wheel.isEmpty();
+    }
+
+    @Override
+    public long tickMillis(AppProperties.DroneProperties properties) {
+        return properties.getWheel().getTickMillis();
+    }
+
+    private DroneState advance(String serialNumber, TickReport report) {
+        return droneRepository.findBySerialNumber(serialNumber)
+                .filter(drone -> DroneStateTransitions.advance(drone, appProperties.getDrone(), report, eventPublisher))
+                .map(drone -> {
+                    fleetCache.put(droneMapper.toDomain(drone));
+                    return drone.getState();
+                })
+                .orElse(null);
+    }
+
+    private void schedule(String serialNumber, DroneState state) {
+        if (state == DroneState.IDLE || !pending.add(serialNumber)) {
+            return;
+        }
+        wheel.schedule(serialNumber, System.currentTimeMillis() + dwell(state).toMillis());
+    }
+
+    private void retry(String serialNumber) {
+        if (pending.add(serialNumber)) {
+            wheel.schedule(serialNumber, System.currentTimeMillis() + appProperties.getDrone().getWheel().getTickMillis());
+        }
+    }
+
+    private Duration dwell(DroneState state) {
+        Duration dwell = appProperties.getDrone().getStateDwell().get(state);
+        return dwell != null ? dwell : Duration.ofMillis(appProperties.getDrone().getStateSchedulerFixedRate());
+    }
+}
@@ -1,17 +1,61 @@
 package com.hitachi.drone.service;
 
+import com.hitachi.drone.event.DroneStateSink;
+import com.hitachi.drone.event.DroneStateSubscription;
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.domain.BatterySample;
 import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.DronePage;
+import com.hitachi.drone.model.domain.DroneResult;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
 import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.dto.DronePageResponse;
+import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.enums.BatteryResolution;
 import com.hitachi.drone.model.enums.DroneState;
 
 import java.util.List;
+import java.util.Map;
 
 public interface DroneService {
     Drone registerDrone(Drone drone);
 
+    List<DroneResult> registerDrones(List<Drone> drones);
+
     Drone getDrone(String serialNumber);
 
+    Drone getDrone(String serialNumber, boolean withMedications);
+
     List<Drone> getDrones(DroneState state);
 
+    List<Drone> getDrones(DroneState state, boolean withMedications);
+
+    DronePage getDrones(DroneState state, int limit, String cursor);
+
+    DronePage getDrones(DroneState state, int limit, String cursor, boolean withMedications);
+
+    List<Drone> getAvailableDrones(double weight, int limit);
+
+    DroneResponse getDroneResponse(String serialNumber);
+
+    List<DroneResponse> getDroneResponses(DroneState state);
+
+    DronePageResponse getDroneResponses(DroneState state, int limit, String cursor);
+
     Drone loadMedication(String serialNumber, List<Medication> medications);
+
+    List<DroneResult> loadMedications(Map<String, List<Medication>> medicationsBySerialNumber);
+
+    List<Drone> dispatch(List<Medication> medications);
+
+    int recordBatteryReadings(List<BatteryReading> readings);
+
+    List<BatterySample> getBatteryHistory(String serialNumber, BatteryResolution resolution);
+
+    DroneTransitionPage getTransitions(long fromSequence, int limit);
+
+    List<DroneTransition> getLatestTransitions(int limit);
+
+    DroneStateSubscription streamStateChanges(String serialNumber, DroneState state, DroneStateSink sink);
 }
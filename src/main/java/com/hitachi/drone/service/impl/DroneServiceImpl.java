@@ -1,78 +1,533 @@
 package com.hitachi.drone.service.impl;
 
+import com.hitachi.drone.actor.DroneActors;
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.cache.FleetCounter;
+import com.hitachi.drone.cache.SerialNumberIndex;
 import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.event.DroneStateSink;
+import com.hitachi.drone.event.DroneStateStream;
+import com.hitachi.drone.event.DroneStateSubscription;
+import com.hitachi.drone.event.TransitionLog;
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.domain.BatterySample;
 import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.DronePage;
+import com.hitachi.drone.model.domain.DroneResult;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
 import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.dto.DronePageResponse;
+import com.hitachi.drone.model.dto.DroneResponse;
 import com.hitachi.drone.model.entity.DroneEntity;
 import com.hitachi.drone.model.entity.MedicationEntity;
+import com.hitachi.drone.model.enums.BatteryResolution;
+import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
 import com.hitachi.drone.model.mapper.DroneMapper;
 import com.hitachi.drone.model.mapper.MedicationMapper;
+import com.hitachi.drone.model.projection.DroneSummaryView;
 import com.hitachi.drone.repository.DroneRepository;
 import com.hitachi.drone.service.DroneService;
+import com.hitachi.drone.telemetry.BatteryHistory;
+import com.hitachi.drone.telemetry.BatteryTelemetryWriter;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
-public class DroneServiceImpl implements DroneService {
+public class DroneServiceImpl implements DroneService, SmartInitializingSingleton {
 
     private final DroneRepository droneRepository;
     private final DroneMapper droneMapper;
     private final MedicationMapper medicationMapper;
     private final AppProperties appProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FleetCache fleetCache;
+    private final SerialNumberIndex serialNumberIndex;
+    private final FleetCounter fleetCounter;
+    private final DroneActors droneActors;
+    private final BatteryTelemetryWriter batteryTelemetryWriter;
+    private final BatteryHistory batteryHistory;
+    private final TransitionLog transitionLog;
+    private final DroneStateStream droneStateStream;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean fleetCacheReloading = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadFleetCache() {
+        fleetCache.load(droneMapper.toDomain(droneRepository.findAll()));
+    }
+
+    /**
+     * Builds the serial number index once every singleton exists, before the web server starts taking requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        serialNumberIndex.rebuild(droneRepository::findAllSerialNumbers);
+    }
 
     @Override
     public Drone registerDrone(Drone drone) {
-        if (drone.getSerialNumber() != null && droneRepository.findBySerialNumber(drone.getSerialNumber()).isPresent()) {
+        if (drone.getSerialNumber() != null
+                && findRegistered(drone.getSerialNumber(), droneRepository::findBySerialNumber).isPresent()) {
             throw new IllegalStateException("Drone with serial number already exists: " + drone.getSerialNumber());
         }
 
-        if (droneRepository.count() >= appProperties.getDrone().getMaxDrones()) {
+        if (reserveCapacity(1) == 0) {
             throw new IllegalStateException("Total drones exceeds max limit: " + appProperties.getDrone().getMaxDrones());
         }
 
-        return droneMapper.toDomain(droneRepository.save(droneMapper.toEntity(drone)));
+        if (drone.getSerialNumber() != null) {
+            serialNumberIndex.add(drone.getSerialNumber());
+        }
+        Drone registered;
+        try {
+            registered = droneMapper.toDomain(droneRepository.save(droneMapper.toEntity(drone)));
+        } catch (RuntimeException ex) {
+            fleetCounter.release(1);
+            throw ex;
+        }
+        fleetCache.put(registered);
+        return registered;
+    }
+
+    /**
+     * Registers many drones with one duplicate check, one capacity claim and one batched insert. Duplicates and drones
+     * beyond {@code max-drones} are reported and skipped; the others are still registered.
+     */
+    @Override
+    @Transactional
+    public List<DroneResult> registerDrones(List<Drone> drones) {
+        List<String> maybeTaken = drones.stream()
+                .map(Drone::getSerialNumber)
+                .filter(serialNumber -> !serialNumberIndex.isAbsent(serialNumber))
+                .toList();
+        Set<String> taken = new HashSet<>(maybeTaken.isEmpty() ? Set.of() : droneRepository.findSerialNumbersIn(maybeTaken));
+        Map<String, String> rejections = new HashMap<>();
+        List<Drone> candidates = new ArrayList<>();
+        for (Drone drone : drones) {
+            String serialNumber = drone.getSerialNumber();
+            if (taken.add(serialNumber)) {
+                candidates.add(drone);
+            } else {
+                rejections.putIfAbsent(serialNumber, "Drone with serial number already exists: " + serialNumber);
+            }
+        }
+
+        int granted = candidates.isEmpty() ? 0 : reserveCapacity(candidates.size());
+        List<DroneEntity> accepted = new ArrayList<>(granted);
+        for (Drone drone : candidates) {
+            if (accepted.size() < granted) {
+                accepted.add(droneMapper.toEntity(drone));
+            } else {
+                rejections.put(drone.getSerialNumber(), "Total drones exceeds max limit: " + appProperties.getDrone().getMaxDrones());
+            }
+        }
+
+        accepted.forEach(entity -> serialNumberIndex.add(entity.getSerialNumber()));
+        List<Drone> registered = droneMapper.toDomain(droneRepository.saveAll(accepted));
+        fleetCache.putAll(registered);
+
+        Map<String, Drone> bySerialNumber = new HashMap<>();
+        registered.forEach(drone -> bySerialNumber.put(drone.getSerialNumber(), drone));
+        List<DroneResult> results = new ArrayList<>(drones.size());
+        for (Drone drone : drones) {
+            String serialNumber = drone.getSerialNumber();
+            Drone saved = bySerialNumber.remove(serialNumber);
+            results.add(saved != null ? DroneResult.success(saved)
+                    : DroneResult.failure(serialNumber, rejections.get(serialNumber)));
+        }
+        return results;
     }
 
+    /**
+     * Runs on the drone's actor in {@code actor} mode, so it never races a transition of the same drone.
+     */
     @Override
     public Drone loadMedication(String serialNumber, List<Medication> medications) {
-        DroneEntity drone = droneRepository.findBySerialNumber(serialNumber)
+        return droneActors.call(serialNumber, () -> applyLoadMedication(serialNumber, medications));
+    }
+
+    private Drone applyLoadMedication(String serialNumber, List<Medication> medications) {
+        DroneEntity drone = findRegistered(serialNumber, droneRepository::findBySerialNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber));
 
-        if (drone.getState() == null || !drone.getState().equals(DroneState.IDLE)) {
-            throw new IllegalStateException("Drone state must be IDLE to load medications: " + drone.getState());
+        double totalNewWeight = totalWeight(medications);
+        String rejection = checkLoadable(drone, totalNewWeight);
+        if (rejection != null) {
+            throw new IllegalStateException(rejection);
         }
 
-        if (drone.getBatteryCapacity() < appProperties.getDrone().getMinBatteryForLoading()) {
-            throw new IllegalStateException("Drone battery too low to load medications: " + drone.getBatteryCapacity());
+        DroneState previousState = drone.getState();
+        load(drone, medications, totalNewWeight);
+
+        Drone loaded = droneMapper.toDomain(droneRepository.save(drone));
+        fleetCache.put(loaded);
+        eventPublisher.publishEvent(new DroneStateChangedEvent(serialNumber, previousState, DroneState.LOADING));
+        return loaded;
+    }
+
+    /**
+     * Loads many drones with one query for the drones and one commit, so the medication inserts go out as JDBC
+     * batches. Drones that cannot be loaded are reported and skipped; the others are still loaded. In
+     * {@code actor} mode the actors of the drones are parked before the transaction opens and until it commits, so
+     * no connection is held while waiting for them.
+     */
+    @Override
+    public List<DroneResult> loadMedications(Map<String, List<Medication>> medicationsBySerialNumber) {
+        List<String> maybeRegistered = medicationsBySerialNumber.keySet().stream()
+                .filter(serialNumber -> !serialNumberIndex.isAbsent(serialNumber))
+                .toList();
+        return droneActors.callAll(maybeRegistered, () -> transactionTemplate.execute(
+                status -> applyLoadMedications(medicationsBySerialNumber, maybeRegistered)));
+    }
+
+    private List<DroneResult> applyLoadMedications(Map<String, List<Medication>> medicationsBySerialNumber,
+                                                   List<String> maybeRegistered) {
+        Map<String, DroneEntity> drones = new HashMap<>();
+        if (!maybeRegistered.isEmpty()) {
+            for (DroneEntity drone : droneRepository.findBySerialNumberIn(maybeRegistered)) {
+                drones.put(drone.getSerialNumber(), drone);
+            }
+        }
+
+        Map<String, String> rejections = new HashMap<>();
+        List<DroneEntity> accepted = new ArrayList<>();
+        medicationsBySerialNumber.forEach((serialNumber, medications) -> {
+            DroneEntity drone = drones.get(serialNumber);
+            if (drone == null) {
+                rejections.put(serialNumber, "Drone not found with serial number: " + serialNumber);
+                return;
+            }
+            double totalNewWeight = totalWeight(medications);
+            String rejection = checkLoadable(drone, totalNewWeight);
+            if (rejection != null) {
+                rejections.put(serialNumber, rejection);
+                return;
+            }
+            load(drone, medications, totalNewWeight);
+            accepted.add(drone);
+        });
+        droneRepository.saveAll(accepted);
+
+        List<DroneResult> results = new ArrayList<>(medicationsBySerialNumber.size());
+        List<Drone> loaded = new ArrayList<>(accepted.size());
+        for (String serialNumber : medicationsBySerialNumber.keySet()) {
+            String rejection = rejections.get(serialNumber);
+            if (rejection != null) {
+                results.add(DroneResult.failure(serialNumber, rejection));
+                continue;
+            }
+            Drone drone = droneMapper.toDomain(drones.get(serialNumber));
+            loaded.add(drone);
+            results.add(DroneResult.success(drone));
+        }
+        fleetCache.putAll(loaded);
+        loaded.forEach(drone -> eventPublisher.publishEvent(
+                new DroneStateChangedEvent(drone.getSerialNumber(), DroneState.IDLE, DroneState.LOADING)));
+        return results;
+    }
+
+    /**
+     * Packs the medications onto as few idle drones as possible and loads them all in one transaction. Either
+     * every medication is loaded or none is. In {@code actor} mode the actors of the chosen drones are parked
+     * before the transaction opens and until it commits.
+     */
+    @Override
+    public List<Drone> dispatch(List<Medication> medications) {
+        double minBattery = appProperties.getDrone().getMinBatteryForLoading();
+        Map<String, List<Medication>> plan = PayloadPacker.pack(medications, droneMapper.toSummaryDomain(
+                droneRepository.findSummaryByStateAndBatteryCapacityGreaterThanEqual(DroneState.IDLE, minBattery)));
+        return droneActors.callAll(plan.keySet(), () -> transactionTemplate.execute(status -> applyDispatch(plan)));
+    }
+
+    private List<Drone> applyDispatch(Map<String, List<Medication>> plan) {
+        List<DroneEntity> drones = droneRepository.findBySerialNumberIn(plan.keySet());
+        for (DroneEntity drone : drones) {
+            List<Medication> payload = plan.get(drone.getSerialNumber());
+            double totalNewWeight = totalWeight(payload);
+            if (checkLoadable(drone, totalNewWeight) != null) {
+                throw new IllegalStateException("Drone is no longer available for dispatch: " + drone.getSerialNumber());
+            }
+            load(drone, payload, totalNewWeight);
+        }
+
+        List<Drone> loaded = droneMapper.toDomain(droneRepository.saveAll(drones));
+        fleetCache.putAll(loaded);
+        loaded.forEach(drone -> eventPublisher.publishEvent(
+                new DroneStateChangedEvent(drone.getSerialNumber(), DroneState.IDLE, DroneState.LOADING)));
+        return loaded;
+    }
+
+    /**
+     * Queues the readings of registered drones for the next telemetry flush, which also adds them to the battery
+     * history once their drone is confirmed. Readings for serial numbers the index rules out are dropped. Queuing
+     * is a lock-free buffer offer, so it does not go through the drone actors in {@code actor} mode.
+     */
+    @Override
+    public int recordBatteryReadings(List<BatteryReading> readings) {
+        return batteryTelemetryWriter.ingest(readings.stream()
+                .filter(reading -> !serialNumberIndex.isAbsent(reading.serialNumber()))
+                .toList());
+    }
+
+    @Override
+    public List<BatterySample> getBatteryHistory(String serialNumber, BatteryResolution resolution) {
+        return batteryHistory.find(serialNumber, resolution).orElseGet(() -> {
+            findRegistered(serialNumber, droneRepository::findSummaryBySerialNumber)
+                    .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber));
+            return List.of();
+        });
+    }
+
+    @Override
+    public DroneTransitionPage getTransitions(long fromSequence, int limit) {
+        checkLimit(limit);
+        return transitionLog.read(fromSequence, limit);
+    }
+
+    @Override
+    public List<DroneTransition> getLatestTransitions(int limit) {
+        checkLimit(limit);
+        return transitionLog.tail(limit);
+    }
+
+    @Override
+    public DroneStateSubscription streamStateChanges(@Nullable String serialNumber, @Nullable DroneState state,
+                                                     DroneStateSink sink) {
+        if (serialNumber != null) {
+            findRegistered(serialNumber, droneRepository::findSummaryBySerialNumber)
+                    .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber));
+        }
+        return droneStateStream.subscribe(serialNumber, state, sink);
+    }
+
+    @Override
+    public Drone getDrone(String serialNumber) {
+        return fleetCache.get(serialNumber).orElseGet(() -> {
+            long invalidations = fleetCache.getInvalidations();
+            Drone drone = droneMapper.toDomain(findRegistered(serialNumber, droneRepository::findBySerialNumber)
+                    .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber)));
+            fleetCache.putIfAbsent(drone, invalidations);
+            return drone;
+        });
+    }
+
+    @Override
+    public Drone getDrone(String serialNumber, boolean withMedications) {
+        if (withMedications) {
+            return getDrone(serialNumber);
+        }
+        return fleetCache.get(serialNumber).orElseGet(() -> droneMapper.toDomain(
+                findRegistered(serialNumber, droneRepository::findSummaryBySerialNumber)
+                        .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber))));
+    }
+
+    @Override
+    public List<Drone> getDrones(@Nullable DroneState state) {
+        return findCachedDrones(state).orElseGet(() -> {
+            long invalidations = fleetCache.getInvalidations();
+            List<Drone> drones = droneMapper.toDomain(droneRepository.findByStateIsNullOrState(state));
+            fleetCache.putAllIfAbsent(drones, invalidations);
+            return drones;
+        });
+    }
+
+    @Override
+    public List<Drone> getDrones(@Nullable DroneState state, boolean withMedications) {
+        if (withMedications) {
+            return getDrones(state);
+        }
+        return findCachedDrones(state).orElseGet(() ->
+                droneMapper.toSummaryDomain(droneRepository.findSummaryByStateIsNullOrState(state)));
+    }
+
+    @Override
+    public DronePage getDrones(@Nullable DroneState state, int limit, @Nullable String cursor) {
+        return getDrones(state, limit, cursor, true);
+    }
+
+    @Override
+    public DronePage getDrones(@Nullable DroneState state, int limit, @Nullable String cursor, boolean withMedications) {
+        checkLimit(limit);
+        String afterSerialNumber = decodeCursor(cursor);
+        if (withMedications) {
+            return page(droneRepository.findPage(state, afterSerialNumber, Limit.of(limit + 1)), limit,
+                    DroneEntity::getSerialNumber, (drones, nextCursor) -> new DronePage(droneMapper.toDomain(drones), nextCursor));
+        }
+        return page(droneRepository.findSummaryPage(state, afterSerialNumber, Limit.of(limit + 1)), limit,
+                DroneSummaryView::getSerialNumber, (drones, nextCursor) -> new DronePage(droneMapper.toSummaryDomain(drones), nextCursor));
+    }
+
+    /**
+     * Runs one index range scan per model that can carry the weight and merges them by free capacity, smallest
+     * first, so the tightest fits come first.
+     */
+    @Override
+    public List<Drone> getAvailableDrones(double weight, int limit) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        checkLimit(limit);
+
+        List<Drone> available = new ArrayList<>();
+        for (DroneModel model : DroneModel.values()) {
+            if (model.getWeightLimit() >= weight) {
+                available.addAll(droneMapper.toSummaryDomain(droneRepository.findAvailable(DroneState.IDLE, model,
+                        model.getWeightLimit() - weight, appProperties.getDrone().getMinBatteryForLoading(),
+                        Limit.of(limit))));
+            }
         }
+        available.sort(Comparator.comparingDouble((Drone drone) -> drone.getWeightLimit() - drone.getCurrentWeight())
+                .thenComparing(Drone::getSerialNumber));
+        return available.size() > limit ? available.subList(0, limit) : available;
+    }
 
-        double totalNewWeight = medications.stream().mapToDouble(Medication::getWeight).sum();
+    @Override
+    public DroneResponse getDroneResponse(String serialNumber) {
+        return fleetCache.get(serialNumber)
+                .map(droneMapper::toDTO)
+                .orElseGet(() -> findRegistered(serialNumber, droneRepository::findResponseBySerialNumber)
+                        .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber)));
+    }
+
+    @Override
+    public List<DroneResponse> getDroneResponses(@Nullable DroneState state) {
+        return findCachedDrones(state)
+                .map(droneMapper::toDTO)
+                .orElseGet(() -> droneRepository.findResponsesByStateIsNullOrState(state));
+    }
+
+    @Override
+    public DronePageResponse getDroneResponses(@Nullable DroneState state, int limit, @Nullable String cursor) {
+        checkLimit(limit);
+        return page(droneRepository.findResponsePage(state, decodeCursor(cursor), limit + 1), limit,
+                DroneResponse::serialNumber, DronePageResponse::new);
+    }
+
+    /**
+     * Claims fleet capacity from the in-memory counter, seeding it with one count the first time.
+     */
+    private int reserveCapacity(int requested) {
+        if (!fleetCounter.isSeeded()) {
+            fleetCounter.seed(droneRepository.count());
+        }
+        return fleetCounter.reserve(requested, appProperties.getDrone().getMaxDrones());
+    }
+
+    /**
+     * Answers list queries from the fleet cache, reading the whole fleet back into it first when writers evicted
+     * drones since it was last complete. Concurrent misses do not wait for a reload in progress but query directly.
+     */
+    private Optional<List<Drone>> findCachedDrones(@Nullable DroneState state) {
+        Optional<List<Drone>> cached = fleetCache.findByStateIsNullOrState(state);
+        if (cached.isPresent() || !fleetCache.isReloadable() || !fleetCacheReloading.compareAndSet(false, true)) {
+            return cached;
+        }
+        try {
+            long invalidations = fleetCache.getInvalidations();
+            fleetCache.reload(droneMapper.toDomain(droneRepository.findFleet()), invalidations);
+        } finally {
+            fleetCacheReloading.set(false);
+        }
+        return fleetCache.findByStateIsNullOrState(state);
+    }
+
+    /**
+     * Answers serial numbers the index has never seen without a query, so unknown drones cost no database hit.
+     */
+    private <T> Optional<T> findRegistered(String serialNumber, Function<String, Optional<T>> finder) {
+        return serialNumberIndex.isAbsent(serialNumber) ? Optional.empty() : finder.apply(serialNumber);
+    }
+
+    /**
+     * @return why the medications cannot be loaded onto the drone, or null when they can
+     */
+    @Nullable
+    private String checkLoadable(DroneEntity drone, double totalNewWeight) {
+        if (drone.getState() == null || !drone.getState().equals(DroneState.IDLE)) {
+            return "Drone state must be IDLE to load medications: " + drone.getState();
+        }
+        if (drone.getBatteryCapacity() < appProperties.getDrone().getMinBatteryForLoading()) {
+            return "Drone battery too low to load medications: " + drone.getBatteryCapacity();
+        }
         if (drone.getCurrentWeight() + totalNewWeight > drone.getWeightLimit()) {
-            throw new IllegalStateException("Total weight exceeds drone weight limit: " + drone.getWeightLimit());
+            return "Total weight exceeds drone weight limit: " + drone.getWeightLimit();
         }
+        return null;
+    }
 
+    private void load(DroneEntity drone, List<Medication> medications, double totalNewWeight) {
         List<MedicationEntity> medicationEntities = medicationMapper.toEntity(medications);
         medicationEntities.forEach(entity -> entity.setDrone(drone));
         drone.getMedications().addAll(medicationEntities);
+        drone.setCurrentWeight(drone.getCurrentWeight() + totalNewWeight);
         drone.setState(DroneState.LOADING);
+    }
 
-        return droneMapper.toDomain(droneRepository.save(drone));
+    private static double totalWeight(List<Medication> medications) {
+        return medications.stream().mapToDouble(Medication::getWeight).sum();
     }
 
-    @Override
-    public Drone getDrone(String serialNumber) {
-        return droneMapper.toDomain(droneRepository.findBySerialNumber(serialNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Drone not found with serial number: " + serialNumber)));
+    private void checkLimit(int limit) {
+        int maxPageSize = appProperties.getDrone().getMaxPageSize();
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize + ": " + limit);
+        }
     }
 
-    @Override
-    public List<Drone> getDrones(@Nullable DroneState state) {
-        return droneMapper.toDomain(droneRepository.findByStateIsNullOrState(state));
+    /**
+     * Cuts the extra row read past the limit and turns its predecessor into the next cursor.
+     */
+    private static <T, P> P page(List<T> rows, int limit, Function<T, String> serialNumber,
+                                 BiFunction<List<T>, String, P> pageFactory) {
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = encodeCursor(serialNumber.apply(rows.getLast()));
+        }
+        return pageFactory.apply(rows, nextCursor);
+    }
+
+    private static String encodeCursor(String serialNumber) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(serialNumber.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private static String decodeCursor(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
     }
 }
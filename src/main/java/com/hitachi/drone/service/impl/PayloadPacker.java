@@ -0,0 +1,60 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.Medication;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Best-fit-decreasing packing of medications onto drones. Medications are placed heaviest first into the
+ * already used drone with the least free weight that still fits. A new drone is only taken when none fits, and
+ * then the one with the most free weight, which keeps the number of drones low. Runs in O(n log n + m log m)
+ * for n medications and m drones.
+ */
+final class PayloadPacker {
+
+    private PayloadPacker() {
+    }
+
+    /**
+     * @return the medications for each drone used, keyed by serial number
+     * @throws IllegalStateException when a medication does not fit on any drone
+     */
+    static Map<String, List<Medication>> pack(List<Medication> medications, List<Drone> drones) {
+        List<Medication> heaviestFirst = new ArrayList<>(medications);
+        heaviestFirst.sort(Comparator.comparingDouble(Medication::getWeight).reversed());
+
+        List<Bin> unused = new ArrayList<>(drones.size());
+        for (Drone drone : drones) {
+            unused.add(new Bin(drone.getSerialNumber(), drone.getWeightLimit() - drone.getCurrentWeight(), unused.size()));
+        }
+        unused.sort(Comparator.comparingDouble(Bin::free).reversed());
+
+        TreeSet<Bin> used = new TreeSet<>(Comparator.comparingDouble(Bin::free).thenComparingInt(Bin::order));
+        Map<String, List<Medication>> plan = new LinkedHashMap<>();
+        int next = 0;
+        for (Medication medication : heaviestFirst) {
+            double weight = medication.getWeight();
+            Bin bin = used.ceiling(new Bin(null, weight, -1));
+            if (bin != null) {
+                used.remove(bin);
+            } else if (next < unused.size() && unused.get(next).free() >= weight) {
+                bin = unused.get(next++);
+            } else {
+                throw new IllegalStateException("No idle drone can take medication " + medication.getCode()
+                        + " weighing " + weight);
+            }
+            plan.computeIfAbsent(bin.serialNumber(), serialNumber -> new ArrayList<>()).add(medication);
+            used.add(new Bin(bin.serialNumber(), bin.free() - weight, bin.order()));
+        }
+        return plan;
+    }
+
+    private record Bin(String serialNumber, double free, int order) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.BatterySample;
+import com.hitachi.drone.model.enums.BatteryResolution;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recent battery history of every drone, kept in memory with one {@link HistoryTier} per
+ * {@link BatteryResolution}. Each tier holds {@code app.drone.telemetry.history-slots} buckets, so a drone costs
+ * {@link #bytesPerDrone()} bytes however often it reports, and at most {@code app.drone.max-drones} drones are
+ * tracked. Recording a reading allocates nothing once the drone has a history. {@code history-slots: 0}
+ * disables it.
+ */
+@Component
+public class BatteryHistory {
+
+    private static final BatteryResolution[] RESOLUTIONS = BatteryResolution.values();
+
+    private final int slots;
+    private final int maxDrones;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+
+    public BatteryHistory(AppProperties appProperties) {
+        this.slots = appProperties.getDrone().getTelemetry().getHistorySlots();
+        this.maxDrones = appProperties.getDrone().getMaxDrones();
+    }
+
+    public void record(String serialNumber, long timestamp, double batteryCapacity) {
+        if (slots == 0) {
+            return;
+        }
+        Series drone = series.get(serialNumber);
+        if (drone == null) {
+            drone = series.computeIfAbsent(serialNumber, this::newSeries);
+            if (drone == null) {
+                return;
+            }
+        }
+        drone.add(timestamp, batteryCapacity);
+    }
+
+    /**
+     * @return the buckets of the drone at the given resolution, oldest first, or empty when nothing was recorded
+     * for it
+     */
+    public Optional<List<BatterySample>> find(String serialNumber, BatteryResolution resolution) {
+        return Optional.ofNullable(series.get(serialNumber)).map(drone -> drone.samples(resolution));
+    }
+
+    public long bytesPerDrone() {
+        return (long) RESOLUTIONS.length * slots * HistoryTier.SLOT_BYTES;
+    }
+
+    public int size() {
+        return tracked.get();
+    }
+
+    private Series newSeries(String serialNumber) {
+        if (tracked.incrementAndGet() > maxDrones) {
+            tracked.decrementAndGet();
+            return null;
+        }
+        return new Series(slots);
+    }
+
+    private static final class Series {
+
+        private final HistoryTier[] tiers = new HistoryTier[RESOLUTIONS.length];
+
+        Series(int slots) {
+            for (BatteryResolution resolution : RESOLUTIONS) {
+                tiers[resolution.ordinal()] = new HistoryTier(resolution.getBucket().toMillis(), slots);
+            }
+        }
+
+        synchronized void add(long timestamp, double value) {
+            for (HistoryTier tier : tiers) {
+                tier.add(timestamp, value);
+            }
+        }
+
+        synchronized List<BatterySample> samples(BatteryResolution resolution) {
+            return tiers[resolution.ordinal()].samples();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.BatteryReading;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queues battery readings in a bounded ring buffer and writes them every {@code app.drone.telemetry.flush-millis}.
+ * A flush keeps only the newest reading per drone and applies them with one JDBC batch, so the database sees at
+ * most one update per drone and interval however often drones report. Readings older than the last one applied
+ * for a drone are dropped, and so are readings that arrive while the buffer is full. The update does not bump the
+ * drone's version, so telemetry never makes a scheduler or a load fail with an optimistic lock conflict. The last
+ * applied timestamps are only kept for serial numbers that matched a drone, and for at most
+ * {@code app.drone.max-drones} of them.
+ * <p>
+ * Every reading taken from the buffer, not just the newest, is added to the {@link BatteryHistory} once the flush
+ * has confirmed that its drone exists, so readings the buffer dropped and readings for unknown serial numbers never
+ * reach the history.
+ */
+@Component
+@Slf4j
+public class BatteryTelemetryWriter {
+
+    private static final String UPDATE_BATTERY_CAPACITY =
+            "UPDATE drones SET battery_capacity = ? WHERE serial_number = ?";
+
+    private final RingBuffer<BatteryReading> buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final FleetCache fleetCache;
+    private final BatteryHistory batteryHistory;
+    private final Map<String, Instant> applied;
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+
+    public BatteryTelemetryWriter(AppProperties appProperties, JdbcTemplate jdbcTemplate, FleetCache fleetCache,
+                                  BatteryHistory batteryHistory, MeterRegistry meterRegistry) {
+        this.buffer = new RingBuffer<>(appProperties.getDrone().getTelemetry().getBufferSize());
+        this.jdbcTemplate = jdbcTemplate;
+        this.fleetCache = fleetCache;
+        this.batteryHistory = batteryHistory;
+        int maxApplied = appProperties.getDrone().getMaxDrones();
+        this.applied = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                return size() > maxApplied;
+            }
+        };
+        this.accepted = Counter.builder("telemetry.readings")
+                .description("Battery readings received")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("telemetry.readings")
+                .description("Battery readings received")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        this.written = Counter.builder("telemetry.writes")
+                .description("Battery capacities written to the database after coalescing")
+                .register(meterRegistry);
+        Gauge.builder("telemetry.buffer.size", buffer, RingBuffer::size)
+                .description("Battery readings waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return how many readings were queued; the others were dropped because the buffer is full
+     */
+    public int ingest(List<BatteryReading> readings) {
+        int queued = 0;
+        for (BatteryReading reading : readings) {
+            if (buffer.offer(reading)) {
+                queued++;
+            }
+        }
+        accepted.increment(queued);
+        dropped.increment(readings.size() - queued);
+        return queued;
+    }
+
+    @Scheduled(fixedDelayString = "${app.drone.telemetry.flush-millis}")
+    @Transactional
+    public void flush() {
+        List<BatteryReading> drained = new ArrayList<>();
+        Map<String, BatteryReading> latest = new HashMap<>();
+        BatteryReading reading;
+        while (drained.size() < buffer.capacity() && (reading = buffer.poll()) != null) {
+            drained.add(reading);
+            latest.merge(reading.serialNumber(), reading,
+                    (current, next) -> next.timestamp().isBefore(current.timestamp()) ? current : next);
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // Drones whose newest reading is older than the last one applied are known to exist without an update
+        Set<String> confirmed = new HashSet<>();
+        List<BatteryReading> updates = new ArrayList<>(latest.size());
+        for (BatteryReading newest : latest.values()) {
+            Instant last = applied.get(newest.serialNumber());
+            if (last == null || !newest.timestamp().isBefore(last)) {
+                updates.add(newest);
+            } else {
+                confirmed.add(newest.serialNumber());
+            }
+        }
+
+        Map<String, Double> batteryCapacities = new HashMap<>();
+        if (!updates.isEmpty()) {
+            int[] rowCounts = jdbcTemplate.batchUpdate(UPDATE_BATTERY_CAPACITY, updates.stream()
+                    .map(update -> new Object[]{update.batteryCapacity(), update.serialNumber()})
+                    .toList());
+            for (int i = 0; i < updates.size(); i++) {
+                if (rowCounts[i] == 0) {
+                    continue;
+                }
+                BatteryReading update = updates.get(i);
+                applied.put(update.serialNumber(), update.timestamp());
+                batteryCapacities.put(update.serialNumber(), update.batteryCapacity());
+                confirmed.add(update.serialNumber());
+            }
+            fleetCache.updateBatteryCapacities(batteryCapacities);
+            written.increment(batteryCapacities.size());
+        }
+
+        for (BatteryReading recorded : drained) {
+            if (confirmed.contains(recorded.serialNumber())) {
+                batteryHistory.record(recorded.serialNumber(), recorded.timestamp().toEpochMilli(),
+                        recorded.batteryCapacity());
+            }
+        }
+        log.debug("Wrote {} battery capacities", batteryCapacities.size());
+    }
+}
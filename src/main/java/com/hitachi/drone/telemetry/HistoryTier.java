@@ -0,0 +1,75 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.model.domain.BatterySample;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed number of battery buckets kept in parallel primitive arrays and overwritten oldest first. A reading
+ * either folds into the newest bucket or opens the next one; readings older than the newest bucket are ignored.
+ * A bucket width of zero keeps every reading in its own slot. Not thread-safe.
+ */
+final class HistoryTier {
+
+    /**
+     * Bytes held per slot: start, min, max and sum as 8-byte values plus a 4-byte count.
+     */
+    static final int SLOT_BYTES = 4 * Long.BYTES + Integer.BYTES;
+
+    private final long bucketMillis;
+    private final long[] starts;
+    private final double[] mins;
+    private final double[] maxs;
+    private final double[] sums;
+    private final int[] counts;
+    private int newest = -1;
+    private int size;
+
+    HistoryTier(long bucketMillis, int slots) {
+        this.bucketMillis = bucketMillis;
+        this.starts = new long[slots];
+        this.mins = new double[slots];
+        this.maxs = new double[slots];
+        this.sums = new double[slots];
+        this.counts = new int[slots];
+    }
+
+    void add(long timestamp, double value) {
+        long start = bucketMillis == 0 ? timestamp : timestamp - Math.floorMod(timestamp, bucketMillis);
+        if (size > 0) {
+            long newestStart = starts[newest];
+            if (start < newestStart) {
+                return;
+            }
+            if (start == newestStart && bucketMillis != 0) {
+                mins[newest] = Math.min(mins[newest], value);
+                maxs[newest] = Math.max(maxs[newest], value);
+                sums[newest] += value;
+                counts[newest]++;
+                return;
+            }
+        }
+        newest = (newest + 1) % starts.length;
+        size = Math.min(size + 1, starts.length);
+        starts[newest] = start;
+        mins[newest] = value;
+        maxs[newest] = value;
+        sums[newest] = value;
+        counts[newest] = 1;
+    }
+
+    /**
+     * @return the buckets held, oldest first
+     */
+    List<BatterySample> samples() {
+        List<BatterySample> samples = new ArrayList<>(size);
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = Math.floorMod(newest - i, starts.length);
+            samples.add(new BatterySample(Instant.ofEpochMilli(starts[slot]), mins[slot], maxs[slot],
+                    sums[slot] / counts[slot]));
+        }
+        return samples;
+    }
+}
@@ -1,11 +1,12 @@
 -- 5 Drones - All in LOADING state
 -- Drone weight limits: LIGHTWEIGHT=250g, MIDDLEWEIGHT=500g, CRUISERWEIGHT=750g, HEAVYWEIGHT=1000g
-INSERT INTO drones (id, serial_number, model, state, battery_capacity) VALUES
-('550e8400-e29b-41d4-a716-446655440001', 'DRONE-001', 'LIGHTWEIGHT', 'LOADING', 100.0),
-('550e8400-e29b-41d4-a716-446655440002', 'DRONE-002', 'MIDDLEWEIGHT', 'LOADING', 90.0),
-('550e8400-e29b-41d4-a716-446655440003', 'DRONE-003', 'CRUISERWEIGHT', 'LOADING', 85.0),
-('550e8400-e29b-41d4-a716-446655440004', 'DRONE-004', 'HEAVYWEIGHT', 'LOADING', 80.0),
-('550e8400-e29b-41d4-a716-446655440005', 'DRONE-005', 'LIGHTWEIGHT', 'LOADING', 75.0);
+-- current_weight is the total weight of the medications below
+INSERT INTO drones (id, serial_number, model, state, battery_capacity, bucket, current_weight, version) VALUES
+('550e8400-e29b-41d4-a716-446655440001', 'DRONE-001', 'LIGHTWEIGHT', 'LOADING', 100.0, 616, 110.0, 0),
+('550e8400-e29b-41d4-a716-446655440002', 'DRONE-002', 'MIDDLEWEIGHT', 'LOADING', 90.0, 963, 195.0, 0),
+('550e8400-e29b-41d4-a716-446655440003', 'DRONE-003', 'CRUISERWEIGHT', 'LOADING', 85.0, 335, 270.0, 0),
+('550e8400-e29b-41d4-a716-446655440004', 'DRONE-004', 'HEAVYWEIGHT', 'LOADING', 80.0, 898, 350.0, 0),
+('550e8400-e29b-41d4-a716-446655440005', 'DRONE-005', 'LIGHTWEIGHT', 'LOADING', 75.0, 1018, 95.0, 0);
 
 -- Medications - Distributed to ensure weight < limit
 -- DRONE-001 (LIGHTWEIGHT, limit 250g): 2 medications = 50g + 60g = 110g ✓
@@ -0,0 +1,166 @@
+package com.hitachi.drone.actor;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.scheduler.SchedulerMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DroneActors Tests")
+class DroneActorsTest {
+
+    private final DroneActors actors = new DroneActors(properties(SchedulerMode.ACTOR));
+
+    @AfterEach
+    void tearDown() {
+        actors.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the commands of one drone in order and one at a time")
+    void testSubmit_SerialPerDrone() {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int command = i;
+            results.add(actors.submit("DRONE-001", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(command);
+                running.decrementAndGet();
+                return command;
+            }));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(order).isSorted().hasSize(1000);
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should run commands of different drones in parallel")
+    void testSubmit_ParallelAcrossDrones() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CompletableFuture<Boolean> first = actors.submit("DRONE-001", () -> await(bothStarted));
+        CompletableFuture<Boolean> second = actors.submit("DRONE-002", () -> await(bothStarted));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop the mailbox of a drone once its commands have run")
+    void testSubmit_DropsIdleMailbox() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            actors.call("UNKNOWN-" + i, () -> null);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (actors.size() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(actors.size()).isZero();
+        assertThat(actors.submit("UNKNOWN-0", () -> 42).get(5, TimeUnit.SECONDS)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should hold back commands of every drone a multi-drone command touches until it returns")
+    void testCallAll_ParksActors() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch finishBatch = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() ->
+                actors.callAll(List.of("DRONE-001", "DRONE-002"), () -> {
+                    batchStarted.countDown();
+                    await(finishBatch, 5);
+                    order.add("batch");
+                    return null;
+                }));
+        assertThat(batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Boolean> transition = actors.submit("DRONE-002", () -> order.add("transition"));
+        finishBatch.countDown();
+
+        assertThat(transition.get(5, TimeUnit.SECONDS)).isTrue();
+        batch.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("batch", "transition");
+    }
+
+    @Test
+    @DisplayName("Should keep the actors parked until the surrounding transaction completes")
+    void testCallAll_ReleasesAfterTransaction() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            actors.callAll(List.of("DRONE-001"), () -> order.add("batch"));
+            CompletableFuture<Boolean> queued = actors.submit("DRONE-001", () -> order.add("transition"));
+            order.add("commit");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(order).containsExactly("batch", "commit", "transition");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow the exception of a failed command to the caller")
+    void testCall_Exception() {
+        assertThatThrownBy(() -> actors.call("DRONE-001", () -> {
+            throw new IllegalStateException("Drone state must be IDLE to load medications: LOADED");
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("must be IDLE");
+    }
+
+    @Test
+    @DisplayName("Should run a command posted from the drone's own actor in place")
+    void testCall_Reentrant() {
+        assertThat(actors.call("DRONE-001", () -> actors.call("DRONE-001", () -> 42))).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should run commands on the calling thread when actors are disabled")
+    void testCall_Disabled() {
+        DroneActors disabled = new DroneActors(properties(SchedulerMode.ENTITY));
+
+        assertThat(disabled.call("DRONE-001", Thread::currentThread)).isSameAs(Thread.currentThread());
+        assertThat(disabled.size()).isZero();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch, 5);
+    }
+
+    private static boolean await(CountDownLatch latch, long seconds) {
+        try {
+            return latch.await(seconds, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static AppProperties properties(SchedulerMode mode) {
+        AppProperties properties = new AppProperties();
+        properties.setDrone(new AppProperties.DroneProperties());
+        properties.getDrone().setSchedulerMode(mode);
+        return properties;
+    }
+}
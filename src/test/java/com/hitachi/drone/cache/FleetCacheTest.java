@@ -0,0 +1,166 @@
+package com.hitachi.drone.cache;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FleetCache Tests")
+class FleetCacheTest {
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void testGet_HitAndMiss() {
+        FleetCache cache = cache(10);
+        cache.put(drone("DRONE-001", DroneState.IDLE));
+
+        assertThat(cache.get("DRONE-001")).isPresent();
+        assertThat(cache.get("DRONE-002")).isEmpty();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used drone when full")
+    void testPut_EvictsLeastRecentlyUsed() {
+        FleetCache cache = cache(2);
+        cache.put(drone("DRONE-001", DroneState.IDLE));
+        cache.put(drone("DRONE-002", DroneState.IDLE));
+        cache.get("DRONE-001");
+
+        cache.put(drone("DRONE-003", DroneState.IDLE));
+
+        assertThat(cache.get("DRONE-002")).isEmpty();
+        assertThat(cache.get("DRONE-001")).isPresent();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should answer list queries only while it holds the whole fleet")
+    void testFindByStateIsNullOrState_Complete() {
+        FleetCache cache = cache(2);
+        assertThat(cache.findByStateIsNullOrState(DroneState.IDLE)).isEmpty();
+
+        cache.load(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.LOADING)));
+        assertThat(cache.findByStateIsNullOrState(DroneState.IDLE)).hasValueSatisfying(drones ->
+                assertThat(drones).extracting(Drone::getSerialNumber).containsExactly("DRONE-001"));
+
+        cache.put(drone("DRONE-003", DroneState.IDLE));
+        assertThat(cache.findByStateIsNullOrState(DroneState.IDLE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list every drone when no state is given")
+    void testFindByStateIsNullOrState_AllStates() {
+        FleetCache cache = cache(2);
+        cache.load(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.LOADING)));
+
+        assertThat(cache.findByStateIsNullOrState(null)).hasValueSatisfying(drones ->
+                assertThat(drones).extracting(Drone::getSerialNumber)
+                        .containsExactlyInAnyOrder("DRONE-001", "DRONE-002"));
+    }
+
+    @Test
+    @DisplayName("Should drop drones of an evicted state")
+    void testEvictState() {
+        FleetCache cache = cache(10);
+        cache.load(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.LOADING)));
+
+        cache.evictState(DroneState.LOADING);
+
+        assertThat(cache.get("DRONE-002")).isEmpty();
+        assertThat(cache.get("DRONE-001")).isPresent();
+        assertThat(cache.findByStateIsNullOrState(DroneState.IDLE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer list queries again once reloaded after an eviction")
+    void testReload_RestoresComplete() {
+        FleetCache cache = cache(10);
+        cache.load(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.LOADING)));
+        cache.evictState(DroneState.LOADING);
+        assertThat(cache.isReloadable()).isTrue();
+
+        long invalidations = cache.getInvalidations();
+        cache.reload(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.LOADED)), invalidations);
+
+        assertThat(cache.isReloadable()).isFalse();
+        assertThat(cache.findByStateIsNullOrState(DroneState.LOADED)).hasValueSatisfying(drones ->
+                assertThat(drones).extracting(Drone::getSerialNumber).containsExactly("DRONE-002"));
+    }
+
+    @Test
+    @DisplayName("Should not reload from a read that raced with an eviction")
+    void testReload_StaleRead() {
+        FleetCache cache = cache(10);
+        cache.load(List.of(drone("DRONE-001", DroneState.LOADING)));
+        long invalidations = cache.getInvalidations();
+        cache.evictState(DroneState.LOADING);
+
+        cache.reload(List.of(drone("DRONE-001", DroneState.LOADING)), invalidations);
+
+        assertThat(cache.get("DRONE-001")).isEmpty();
+        assertThat(cache.findByStateIsNullOrState(DroneState.LOADING)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not reload a fleet larger than the cache")
+    void testReload_FleetTooLarge() {
+        FleetCache cache = cache(1);
+
+        cache.reload(List.of(drone("DRONE-001", DroneState.IDLE), drone("DRONE-002", DroneState.IDLE)), 0);
+
+        assertThat(cache.findByStateIsNullOrState(DroneState.IDLE)).isEmpty();
+        assertThat(cache.isReloadable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep a newer cached drone over one read from the database")
+    void testPutIfAbsent_KeepsNewerWrite() {
+        FleetCache cache = cache(10);
+        long invalidations = cache.getInvalidations();
+        cache.put(drone("DRONE-001", DroneState.LOADED));
+
+        cache.putIfAbsent(drone("DRONE-001", DroneState.LOADING), invalidations);
+
+        assertThat(cache.get("DRONE-001")).hasValueSatisfying(drone ->
+                assertThat(drone.getState()).isEqualTo(DroneState.LOADED));
+    }
+
+    @Test
+    @DisplayName("Should drop a drone read from the database when drones were evicted meanwhile")
+    void testPutIfAbsent_AfterEviction() {
+        FleetCache cache = cache(10);
+        cache.put(drone("DRONE-001", DroneState.LOADING));
+        long invalidations = cache.getInvalidations();
+        cache.evictState(DroneState.LOADING);
+
+        cache.putIfAbsent(drone("DRONE-001", DroneState.LOADING), invalidations);
+
+        assertThat(cache.get("DRONE-001")).isEmpty();
+    }
+
+    private static FleetCache cache(int maxSize) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().getCache().setMaxSize(maxSize);
+        return new FleetCache(appProperties, new SimpleMeterRegistry());
+    }
+
+    private static Drone drone(String serialNumber, DroneState state) {
+        return Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(100.0)
+                .state(state)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.hitachi.drone.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FleetCounter Tests")
+class FleetCounterTest {
+
+    @Test
+    @DisplayName("Should grant only the capacity left")
+    void testReserve_Partial() {
+        FleetCounter counter = new FleetCounter();
+        counter.seed(8);
+
+        assertThat(counter.reserve(5, 10)).isEqualTo(2);
+        assertThat(counter.reserve(1, 10)).isZero();
+        assertThat(counter.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should keep the first seed")
+    void testSeed_Once() {
+        FleetCounter counter = new FleetCounter();
+        counter.seed(3);
+        counter.seed(7);
+
+        assertThat(counter.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should refuse to reserve before it is seeded")
+    void testReserve_Unseeded() {
+        FleetCounter counter = new FleetCounter();
+
+        assertThatThrownBy(() -> counter.reserve(1, 10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should never exceed the limit under concurrent reservations")
+    void testReserve_Concurrent() throws Exception {
+        FleetCounter counter = new FleetCounter();
+        counter.seed(0);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 1000; i++) {
+                results.add(executor.submit(() -> counter.reserve(1, 100)));
+            }
+        }
+
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        assertThat(granted).isEqualTo(100);
+        assertThat(counter.size()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hitachi.drone.cache;
+
+import com.hitachi.drone.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SerialNumberIndex Tests")
+class SerialNumberIndexTest {
+
+    @Test
+    @DisplayName("Should never rule out a serial number before it is rebuilt")
+    void testIsAbsent_BeforeRebuild() {
+        SerialNumberIndex index = index(1000);
+
+        assertThat(index.isAbsent("DRONE-001")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never rule out a registered serial number")
+    void testIsAbsent_Registered() {
+        SerialNumberIndex index = index(1000);
+        List<String> serialNumbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            serialNumbers.add("DRONE-" + i);
+        }
+        index.rebuild(() -> serialNumbers.subList(0, 5_000));
+        serialNumbers.subList(5_000, 10_000).forEach(index::add);
+
+        assertThat(serialNumbers).noneMatch(index::isAbsent);
+    }
+
+    @Test
+    @DisplayName("Should keep serial numbers registered while the index is rebuilt")
+    void testRebuild_ReplaysConcurrentAdds() {
+        SerialNumberIndex index = index(1000);
+        index.rebuild(() -> List.of("DRONE-001"));
+
+        index.rebuild(() -> {
+            index.add("DRONE-002");
+            return List.of("DRONE-001");
+        });
+
+        assertThat(index.isAbsent("DRONE-001")).isFalse();
+        assertThat(index.isAbsent("DRONE-002")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never rule out a serial number registered during a rebuild while the filter is swapped")
+    void testRebuild_NoWindowForConcurrentAdds() throws Exception {
+        SerialNumberIndex index = index(1000);
+        index.rebuild(() -> List.of("DRONE-001"));
+        AtomicBoolean rebuilt = new AtomicBoolean();
+        AtomicBoolean ruledOut = new AtomicBoolean();
+        Thread reader = Thread.ofVirtual().unstarted(() -> {
+            while (!rebuilt.get()) {
+                if (index.isAbsent("DRONE-002")) {
+                    ruledOut.set(true);
+                }
+            }
+        });
+
+        index.rebuild(() -> {
+            index.add("DRONE-002");
+            reader.start();
+            return List.of("DRONE-001");
+        });
+        rebuilt.set(true);
+        reader.join();
+
+        assertThat(ruledOut).isFalse();
+        assertThat(index.isAbsent("DRONE-002")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rule out most unknown serial numbers")
+    void testIsAbsent_Unknown() {
+        SerialNumberIndex index = index(10_000);
+        List<String> serialNumbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            serialNumbers.add("DRONE-" + i);
+        }
+        index.rebuild(() -> serialNumbers);
+
+        int ruledOut = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (index.isAbsent("UNKNOWN-" + i)) {
+                ruledOut++;
+            }
+        }
+
+        assertThat(ruledOut).isGreaterThan(9_700);
+        assertThat(index.getRejections()).isEqualTo(ruledOut);
+    }
+
+    private static SerialNumberIndex index(long expectedInsertions) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().getSerialIndex().setEnabled(true);
+        appProperties.getDrone().getSerialIndex().setExpectedInsertions(expectedInsertions);
+        appProperties.getDrone().getSerialIndex().setFalsePositiveRate(0.01);
+        return new SerialNumberIndex(appProperties, new SimpleMeterRegistry());
+    }
+}
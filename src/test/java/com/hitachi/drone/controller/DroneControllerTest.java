@@ -1,13 +1,33 @@
 package com.hitachi.drone.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateSink;
+import com.hitachi.drone.event.DroneStateSubscription;
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.domain.BatterySample;
 import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.DroneResult;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
 import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.dto.BatchLoadMedicationRequest;
+import com.hitachi.drone.model.dto.BatteryReadingRequest;
+import com.hitachi.drone.model.dto.BatterySampleResponse;
+import com.hitachi.drone.model.dto.BulkRegisterDroneRequest;
+import com.hitachi.drone.model.dto.DronePageResponse;
 import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.dto.DroneResultResponse;
+import com.hitachi.drone.model.dto.DroneTransitionPageResponse;
+import com.hitachi.drone.model.dto.DroneTransitionResponse;
 import com.hitachi.drone.model.dto.LoadMedicationRequest;
 import com.hitachi.drone.model.dto.MedicationRequest;
 import com.hitachi.drone.model.dto.MedicationResponse;
 import com.hitachi.drone.model.dto.RegisterDroneRequest;
+import com.hitachi.drone.model.dto.TelemetryRequest;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.BatteryResolution;
+import com.hitachi.drone.model.enums.DroneField;
 import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
 import com.hitachi.drone.model.mapper.DroneMapper;
@@ -17,29 +37,40 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DroneController.class)
+@Import(AppProperties.class)
 @DisplayName("DroneController Tests")
 class DroneControllerTest {
 
@@ -201,8 +232,7 @@ class DroneControllerTest {
     @Test
     @DisplayName("GET /api/drones/{serialNumber} - Should retrieve drone successfully")
     void testGetDrone_Success() throws Exception {
-        when(droneService.getDrone("DRONE-001")).thenReturn(testDrone);
-        when(droneMapper.toDTO(any(Drone.class))).thenReturn(droneResponse);
+        when(droneService.getDroneResponse("DRONE-001")).thenReturn(droneResponse);
 
         mockMvc.perform(get("/api/drones/DRONE-001")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -211,13 +241,13 @@ class DroneControllerTest {
                 .andExpect(jsonPath("$.battery_capacity").value(100.0))
                 .andExpect(jsonPath("$.state").value("IDLE"));
 
-        verify(droneService).getDrone("DRONE-001");
+        verify(droneService).getDroneResponse("DRONE-001");
     }
 
     @Test
     @DisplayName("GET /api/drones/{serialNumber} - Should return 404 when drone not found")
     void testGetDrone_NotFound() throws Exception {
-        when(droneService.getDrone("INVALID-001"))
+        when(droneService.getDroneResponse("INVALID-001"))
                 .thenThrow(new EntityNotFoundException("Drone not found with serial number: INVALID-001"));
 
         mockMvc.perform(get("/api/drones/INVALID-001")
@@ -225,16 +255,82 @@ class DroneControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error", containsString("Drone not found")));
 
-        verify(droneService).getDrone("INVALID-001");
+        verify(droneService).getDroneResponse("INVALID-001");
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/{serialNumber}?fields=serial_number,state - Should return only the selected fields")
+    void testGetDrone_Fields() throws Exception {
+        Set<DroneField> fields = Set.of(DroneField.SERIAL_NUMBER, DroneField.STATE);
+        when(droneService.getDrone("DRONE-001", false)).thenReturn(testDrone);
+        when(droneMapper.toDTO(testDrone, fields)).thenReturn(DroneResponse.builder()
+                .serialNumber("DRONE-001")
+                .state(DroneState.IDLE)
+                .build());
+
+        mockMvc.perform(get("/api/drones/DRONE-001")
+                        .param("fields", "serial_number,state")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$.state").value("IDLE"))
+                .andExpect(jsonPath("$.medications").doesNotExist())
+                .andExpect(jsonPath("$.battery_capacity").doesNotExist());
+
+        verify(droneService).getDrone("DRONE-001", false);
+    }
+
+    @Test
+    @DisplayName("GET /api/drones?fields=medications - Should load medications when they are selected")
+    void testGetDrones_FieldsWithMedications() throws Exception {
+        when(droneService.getDrones(null, true)).thenReturn(List.of(testDrone));
+        when(droneMapper.toDTO(List.of(testDrone), Set.of(DroneField.MEDICATIONS))).thenReturn(List.of(droneResponse));
+
+        mockMvc.perform(get("/api/drones")
+                        .param("fields", "medications")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(droneService).getDrones(null, true);
+    }
+
+    @Test
+    @DisplayName("GET /api/drones?fields=unknown - Should reject unknown fields")
+    void testGetDrones_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/drones")
+                        .param("fields", "serial_number,unknown")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Unknown drone field: unknown")));
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/available - Should return drones able to take the payload without medications")
+    void testGetAvailableDrones() throws Exception {
+        when(droneService.getAvailableDrones(300.0, 5)).thenReturn(List.of(testDrone));
+        when(droneMapper.toDTO(eq(List.of(testDrone)), any())).thenReturn(List.of(DroneResponse.builder()
+                .serialNumber("DRONE-001")
+                .state(DroneState.IDLE)
+                .weightLimit(1000.0)
+                .currentWeight(0.0)
+                .build()));
+
+        mockMvc.perform(get("/api/drones/available")
+                        .param("weight", "300")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$[0].medications").doesNotExist());
+
+        verify(droneService).getAvailableDrones(300.0, 5);
     }
 
     @Test
     @DisplayName("GET /api/drones - Should retrieve all drones successfully")
     void testGetDrones_All() throws Exception {
-        List<Drone> drones = List.of(testDrone);
         List<DroneResponse> responses = List.of(droneResponse);
-        when(droneService.getDrones(null)).thenReturn(drones);
-        when(droneMapper.toDTO(anyList())).thenReturn(responses);
+        when(droneService.getDroneResponses(null)).thenReturn(responses);
 
         mockMvc.perform(get("/api/drones")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -242,16 +338,14 @@ class DroneControllerTest {
                 .andExpect(jsonPath("$[0].serial_number").value("DRONE-001"))
                 .andExpect(jsonPath("$[0].state").value("IDLE"));
 
-        verify(droneService).getDrones(null);
+        verify(droneService).getDroneResponses(null);
     }
 
     @Test
     @DisplayName("GET /api/drones?state=IDLE - Should retrieve drones by state")
     void testGetDrones_ByState() throws Exception {
-        List<Drone> drones = List.of(testDrone);
         List<DroneResponse> responses = List.of(droneResponse);
-        when(droneService.getDrones(DroneState.IDLE)).thenReturn(drones);
-        when(droneMapper.toDTO(anyList())).thenReturn(responses);
+        when(droneService.getDroneResponses(DroneState.IDLE)).thenReturn(responses);
 
         mockMvc.perform(get("/api/drones")
                         .param("state", "IDLE")
@@ -259,14 +353,13 @@ class DroneControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].state").value("IDLE"));
 
-        verify(droneService).getDrones(DroneState.IDLE);
+        verify(droneService).getDroneResponses(DroneState.IDLE);
     }
 
     @Test
     @DisplayName("GET /api/drones - Should return empty list when no drones found")
     void testGetDrones_Empty() throws Exception {
-        when(droneService.getDrones(null)).thenReturn(new ArrayList<>());
-        when(droneMapper.toDTO(anyList())).thenReturn(new ArrayList<>());
+        when(droneService.getDroneResponses(null)).thenReturn(new ArrayList<>());
 
         mockMvc.perform(get("/api/drones")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -274,7 +367,37 @@ class DroneControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(droneService).getDrones(null);
+        verify(droneService).getDroneResponses(null);
+    }
+
+    @Test
+    @DisplayName("GET /api/drones?limit=1 - Should return a page with the next cursor")
+    void testGetDrones_Page() throws Exception {
+        when(droneService.getDroneResponses(DroneState.IDLE, 1, null))
+                .thenReturn(new DronePageResponse(List.of(droneResponse), "RFJPTkUtMDAx"));
+
+        mockMvc.perform(get("/api/drones")
+                        .param("state", "IDLE")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.drones[0].serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$.next_cursor").value("RFJPTkUtMDAx"));
+
+        verify(droneService).getDroneResponses(DroneState.IDLE, 1, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/drones?limit=0 - Should reject an invalid page size")
+    void testGetDrones_InvalidLimit() throws Exception {
+        when(droneService.getDroneResponses(null, 0, null))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 1000: 0"));
+
+        mockMvc.perform(get("/api/drones")
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Limit must be between")));
     }
 
     @Test
@@ -490,6 +613,20 @@ class DroneControllerTest {
         verify(droneService).loadMedication(eq("DRONE-001"), anyList());
     }
 
+    @Test
+    @DisplayName("POST /api/drones/{serialNumber}/medications - Should return 409 when the drone was updated concurrently")
+    void testLoadMedication_ConcurrentUpdate() throws Exception {
+        when(medicationMapper.toDomain(any())).thenReturn(List.of(testMedication));
+        when(droneService.loadMedication(eq("DRONE-001"), anyList()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(DroneEntity.class, "DRONE-001"));
+
+        mockMvc.perform(post("/api/drones/DRONE-001/medications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadMedicationRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", containsString("modified concurrently")));
+    }
+
     @Test
     @DisplayName("POST /api/drones/{serialNumber}/medications - Should load multiple medications")
     void testLoadMedication_MultipleMedications() throws Exception {
@@ -550,4 +687,238 @@ class DroneControllerTest {
 
         verify(droneService).loadMedication(eq("DRONE-001"), anyList());
     }
+
+    @Test
+    @DisplayName("POST /api/drones/batch - Should report the result for each drone")
+    void testRegisterDrones_PartialSuccess() throws Exception {
+        BulkRegisterDroneRequest request = BulkRegisterDroneRequest.builder()
+                .drones(List.of(registerDroneRequest, registerDroneRequest))
+                .build();
+
+        when(droneMapper.toDomain(any(RegisterDroneRequest.class))).thenReturn(testDrone);
+        when(droneService.registerDrones(anyList())).thenReturn(List.of(
+                DroneResult.success(testDrone),
+                DroneResult.failure("DRONE-001", "Drone with serial number already exists: DRONE-001")));
+        when(droneMapper.toResultDTO(anyList())).thenReturn(List.of(
+                DroneResultResponse.builder().serialNumber("DRONE-001").drone(droneResponse).build(),
+                DroneResultResponse.builder().serialNumber("DRONE-001")
+                        .error("Drone with serial number already exists: DRONE-001").build()));
+
+        mockMvc.perform(post("/api/drones/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].drone.serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$[1].error", containsString("already exists")));
+
+        verify(droneService).registerDrones(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/batch - Should return 400 when a drone is invalid")
+    void testRegisterDrones_InvalidDrone() throws Exception {
+        BulkRegisterDroneRequest request = BulkRegisterDroneRequest.builder()
+                .drones(List.of(RegisterDroneRequest.builder().serialNumber("").build()))
+                .build();
+
+        mockMvc.perform(post("/api/drones/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(droneService, times(0)).registerDrones(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/medications - Should report the result for each drone")
+    void testLoadMedications_PartialSuccess() throws Exception {
+        BatchLoadMedicationRequest request = BatchLoadMedicationRequest.builder()
+                .drones(Map.of("DRONE-001", loadMedicationRequest.medications(),
+                        "DRONE-002", loadMedicationRequest.medications()))
+                .build();
+
+        when(medicationMapper.toDomain(any())).thenReturn(List.of(testMedication));
+        when(droneService.loadMedications(any())).thenReturn(List.of(
+                DroneResult.success(testDrone),
+                DroneResult.failure("DRONE-002", "Drone battery too low to load medications: 20.0")));
+        when(droneMapper.toResultDTO(anyList())).thenReturn(List.of(
+                DroneResultResponse.builder().serialNumber("DRONE-001").drone(droneResponse).build(),
+                DroneResultResponse.builder().serialNumber("DRONE-002")
+                        .error("Drone battery too low to load medications: 20.0").build()));
+
+        mockMvc.perform(post("/api/drones/medications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].drone.serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].error", containsString("battery too low")));
+
+        verify(droneService).loadMedications(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/medications - Should return 400 when a drone has no medications")
+    void testLoadMedications_EmptyMedications() throws Exception {
+        BatchLoadMedicationRequest request = BatchLoadMedicationRequest.builder()
+                .drones(Map.of("DRONE-001", List.of()))
+                .build();
+
+        mockMvc.perform(post("/api/drones/medications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(droneService, times(0)).loadMedications(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/dispatch - Should return the drones the batch was packed onto")
+    void testDispatch_Success() throws Exception {
+        when(medicationMapper.toDomain(any())).thenReturn(List.of(testMedication));
+        when(droneService.dispatch(anyList())).thenReturn(List.of(testDrone));
+        when(droneMapper.toDTO(anyList())).thenReturn(List.of(droneResponse));
+
+        mockMvc.perform(post("/api/drones/dispatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadMedicationRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].serial_number").value("DRONE-001"));
+
+        verify(droneService).dispatch(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/dispatch - Should return 409 when a medication fits no idle drone")
+    void testDispatch_NoDroneFits() throws Exception {
+        when(medicationMapper.toDomain(any())).thenReturn(List.of(testMedication));
+        when(droneService.dispatch(anyList()))
+                .thenThrow(new IllegalStateException("No idle drone can take medication MED_CODE_001 weighing 100.0"));
+
+        mockMvc.perform(post("/api/drones/dispatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadMedicationRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", containsString("No idle drone")));
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/telemetry - Should report how many readings were queued")
+    void testRecordTelemetry_Accepted() throws Exception {
+        Instant timestamp = Instant.parse("2026-01-01T12:00:00Z");
+        TelemetryRequest request = new TelemetryRequest(List.of(
+                new BatteryReadingRequest("DRONE-001", 80.0, timestamp),
+                new BatteryReadingRequest("DRONE-002", 70.0, timestamp)));
+        when(droneMapper.toReadings(anyList())).thenReturn(List.of(
+                new BatteryReading("DRONE-001", 80.0, timestamp), new BatteryReading("DRONE-002", 70.0, timestamp)));
+        when(droneService.recordBatteryReadings(anyList())).thenReturn(1);
+
+        mockMvc.perform(post("/api/drones/telemetry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.dropped").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/drones/telemetry - Should return 400 when a battery level is out of range")
+    void testRecordTelemetry_InvalidBattery() throws Exception {
+        TelemetryRequest request = new TelemetryRequest(List.of(
+                new BatteryReadingRequest("DRONE-001", 120.0, Instant.now())));
+
+        mockMvc.perform(post("/api/drones/telemetry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(droneService, times(0)).recordBatteryReadings(anyList());
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/{serialNumber}/battery-history - Should return the samples at the requested resolution")
+    void testGetBatteryHistory_Success() throws Exception {
+        BatterySample sample = new BatterySample(Instant.EPOCH, 70.0, 90.0, 80.0);
+        when(droneService.getBatteryHistory("DRONE-001", BatteryResolution.MINUTE)).thenReturn(List.of(sample));
+        when(droneMapper.toSampleDTO(List.of(sample)))
+                .thenReturn(List.of(new BatterySampleResponse(Instant.EPOCH, 70.0, 90.0, 80.0)));
+
+        mockMvc.perform(get("/api/drones/DRONE-001/battery-history").param("resolution", "MINUTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].min").value(70.0))
+                .andExpect(jsonPath("$[0].avg").value(80.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/{serialNumber}/battery-history - Should return 404 for an unknown drone")
+    void testGetBatteryHistory_NotFound() throws Exception {
+        when(droneService.getBatteryHistory("NON-EXISTENT", BatteryResolution.RAW))
+                .thenThrow(new EntityNotFoundException("Drone not found with serial number: NON-EXISTENT"));
+
+        mockMvc.perform(get("/api/drones/NON-EXISTENT/battery-history"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/transitions - Should return a page of the transition log")
+    void testGetTransitions_Success() throws Exception {
+        DroneTransition transition = new DroneTransition(5, Instant.EPOCH, "DRONE-001", DroneState.IDLE, DroneState.LOADING);
+        DroneTransitionPage page = new DroneTransitionPage(List.of(transition), 6);
+        when(droneService.getTransitions(5, 10)).thenReturn(page);
+        when(droneMapper.toDTO(page)).thenReturn(new DroneTransitionPageResponse(List.of(new DroneTransitionResponse(
+                5L, Instant.EPOCH, "DRONE-001", DroneState.IDLE, DroneState.LOADING)), 6L));
+
+        mockMvc.perform(get("/api/drones/transitions").param("from", "5").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitions[0].serial_number").value("DRONE-001"))
+                .andExpect(jsonPath("$.transitions[0].previous_state").value("IDLE"))
+                .andExpect(jsonPath("$.next_sequence").value(6));
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/transitions/tail - Should return the latest transitions")
+    void testGetLatestTransitions_Success() throws Exception {
+        DroneTransition transition = new DroneTransition(5, Instant.EPOCH, "DRONE-001", DroneState.LOADING, DroneState.LOADED);
+        when(droneService.getLatestTransitions(100)).thenReturn(List.of(transition));
+        when(droneMapper.toTransitionDTO(List.of(transition))).thenReturn(List.of(new DroneTransitionResponse(
+                5L, Instant.EPOCH, "DRONE-001", DroneState.LOADING, DroneState.LOADED)));
+
+        mockMvc.perform(get("/api/drones/transitions/tail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sequence").value(5))
+                .andExpect(jsonPath("$[0].state").value("LOADED"));
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/stream - Should open an event stream with the requested filters")
+    void testStreamStateChanges_Success() throws Exception {
+        when(droneService.streamStateChanges(eq("DRONE-001"), eq(DroneState.LOADED), any()))
+                .thenReturn(mock(DroneStateSubscription.class));
+
+        MvcResult result = mockMvc.perform(get("/api/drones/stream")
+                        .param("serialNumber", "DRONE-001")
+                        .param("state", "LOADED")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ArgumentCaptor<DroneStateSink> sink = ArgumentCaptor.forClass(DroneStateSink.class);
+        verify(droneService).streamStateChanges(eq("DRONE-001"), eq(DroneState.LOADED), sink.capture());
+        sink.getValue().send("{\"serial_number\":\"DRONE-001\"}");
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:state-changed")
+                .contains("data:{\"serial_number\":\"DRONE-001\"}");
+    }
+
+    @Test
+    @DisplayName("GET /api/drones/stream - Should return 404 when filtering on an unknown drone")
+    void testStreamStateChanges_NotFound() throws Exception {
+        when(droneService.streamStateChanges(eq("NON-EXISTENT"), eq(null), any()))
+                .thenThrow(new EntityNotFoundException("Drone not found with serial number: NON-EXISTENT"));
+
+        mockMvc.perform(get("/api/drones/stream").param("serialNumber", "NON-EXISTENT"))
+                .andExpect(status().isNotFound());
+    }
 }
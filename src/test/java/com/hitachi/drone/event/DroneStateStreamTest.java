@@ -0,0 +1,151 @@
+package com.hitachi.drone.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DroneStateStream Tests")
+class DroneStateStreamTest {
+
+    private DroneStateStream stream;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().getStream().setBufferSize(4);
+        stream = new DroneStateStream(appProperties, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send subscribers only the changes matching their filters")
+    void testOnDroneStateChanged_Filters() throws Exception {
+        RecordingSink all = new RecordingSink();
+        RecordingSink drone = new RecordingSink();
+        RecordingSink loaded = new RecordingSink();
+        stream.subscribe(null, null, all);
+        stream.subscribe("DRONE-001", null, drone);
+        stream.subscribe(null, DroneState.LOADED, loaded);
+
+        stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+        stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-002", DroneState.LOADING, DroneState.LOADED));
+        stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.LOADING, DroneState.LOADED));
+
+        assertThat(all.await(3)).isTrue();
+        assertThat(drone.await(2)).isTrue();
+        assertThat(loaded.await(2)).isTrue();
+        assertThat(drone.events).allSatisfy(event -> assertThat(event).contains("DRONE-001"));
+        assertThat(loaded.events.getFirst()).contains("DRONE-002");
+    }
+
+    @Test
+    @DisplayName("Should drop events for a slow subscriber without holding up the others")
+    void testOnDroneStateChanged_SlowSubscriber() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(String json) throws IOException {
+                sending.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(json);
+            }
+        };
+        RecordingSink fast = new RecordingSink();
+        stream.subscribe(null, null, slow);
+        stream.subscribe(null, null, fast);
+
+        // The fast subscriber takes each event before the next one is published, so only the slow one falls behind
+        for (int i = 0; i < 20; i++) {
+            stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-" + i, DroneState.IDLE, DroneState.LOADING));
+            assertThat(fast.await(1)).isTrue();
+            assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(fast.events).hasSize(20);
+        // The slow subscriber is stuck sending the first event with the next four queued
+        assertThat(stream.getDropped()).isEqualTo(15.0);
+        blocked.countDown();
+    }
+
+    @Test
+    @DisplayName("Should forget and close a subscriber once sending to it fails")
+    void testOnDroneStateChanged_RemovesBrokenSubscriber() throws Exception {
+        RecordingSink broken = new RecordingSink() {
+            @Override
+            public void send(String json) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        stream.subscribe(null, null, broken);
+
+        stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+
+        assertThat(broken.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stream.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop sending to a cancelled subscription")
+    void testCancel() throws Exception {
+        RecordingSink cancelled = new RecordingSink();
+        RecordingSink open = new RecordingSink();
+        stream.subscribe(null, null, cancelled).cancel();
+        stream.subscribe(null, null, open);
+
+        stream.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+
+        assertThat(open.await(1)).isTrue();
+        assertThat(cancelled.events).isEmpty();
+        assertThat(stream.size()).isEqualTo(1);
+    }
+
+    private static class RecordingSink implements DroneStateSink {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final Semaphore received = new Semaphore(0);
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(String json) throws IOException {
+            events.add(json);
+            received.release();
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        boolean await(int events) throws InterruptedException {
+            return received.tryAcquire(events, 5, TimeUnit.SECONDS);
+        }
+    }
+}
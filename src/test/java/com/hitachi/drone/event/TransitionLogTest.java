@@ -0,0 +1,129 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TransitionLog Tests")
+class TransitionLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back appended transitions across segments")
+    void testRead_AcrossSegments() throws Exception {
+        TransitionLog log = transitionLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.append("DRONE-" + i, DroneState.IDLE, DroneState.LOADING, 1000 + i);
+        }
+
+        DroneTransitionPage page = log.read(3, 4);
+
+        assertThat(page.transitions()).extracting(DroneTransition::serialNumber)
+                .containsExactly("DRONE-3", "DRONE-4", "DRONE-5", "DRONE-6");
+        assertThat(page.transitions().getFirst())
+                .isEqualTo(new DroneTransition(3, Instant.ofEpochMilli(1003), "DRONE-3", DroneState.IDLE, DroneState.LOADING));
+        assertThat(page.nextSequence()).isEqualTo(7);
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Should return the latest transitions oldest first")
+    void testTail() throws Exception {
+        TransitionLog log = transitionLog(4);
+        log.append("DRONE-001", null, DroneState.LOADING, 1000);
+        log.append("DRONE-001", DroneState.LOADING, DroneState.LOADED, 2000);
+        log.append("DRONE-001", DroneState.LOADED, DroneState.DELIVERING, 3000);
+
+        assertThat(log.tail(2)).extracting(DroneTransition::state)
+                .containsExactly(DroneState.LOADED, DroneState.DELIVERING);
+        assertThat(log.tail(10)).hasSize(3).first()
+                .extracting(DroneTransition::previousState).isNull();
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Should continue after the last record when reopened")
+    void testOpen_Recovers() throws Exception {
+        TransitionLog log = transitionLog(4);
+        for (int i = 0; i < 5; i++) {
+            log.append("DRONE-" + i, DroneState.LOADING, DroneState.LOADED, 1000 + i);
+        }
+        log.close();
+
+        TransitionLog reopened = transitionLog(4);
+
+        assertThat(reopened.size()).isEqualTo(5);
+        assertThat(reopened.append("DRONE-5", DroneState.LOADING, DroneState.LOADED, 2000)).isEqualTo(5);
+        List<DroneTransition> replayed = new ArrayList<>();
+        assertThat(reopened.replay(0, replayed::add)).isEqualTo(6);
+        assertThat(replayed).extracting(DroneTransition::serialNumber)
+                .containsExactly("DRONE-0", "DRONE-1", "DRONE-2", "DRONE-3", "DRONE-4", "DRONE-5");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the longest serial numbers a drone can be registered with intact")
+    void testAppend_LongSerialNumber() throws Exception {
+        TransitionLog log = transitionLog(4);
+        String serialNumber = "\u30c9".repeat(DroneEntity.SERIAL_NUMBER_LENGTH);
+        log.append(serialNumber, DroneState.IDLE, DroneState.LOADING, 1000);
+        log.append("DRONE-001", DroneState.LOADING, DroneState.LOADED, 2000);
+
+        assertThat(log.tail(2)).extracting(DroneTransition::serialNumber).containsExactly(serialNumber, "DRONE-001");
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Should refuse serial numbers that do not fit in a record instead of cutting them")
+    void testAppend_SerialNumberTooLong() throws Exception {
+        TransitionLog log = transitionLog(4);
+
+        assertThatThrownBy(() -> log.append("X".repeat(TransitionLog.SERIAL_NUMBER_BYTES + 1), DroneState.IDLE,
+                DroneState.LOADING, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(log.size()).isZero();
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Should refuse to open a log that another instance holds")
+    void testOpen_Locked() throws Exception {
+        TransitionLog log = transitionLog(4);
+
+        assertThatThrownBy(() -> transitionLog(4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is used by another instance");
+
+        log.close();
+        transitionLog(4).close();
+    }
+
+    private TransitionLog transitionLog(int segmentRecords) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        AppProperties.EventLogProperties eventLog = appProperties.getDrone().getEventLog();
+        eventLog.setEnabled(true);
+        eventLog.setPath(directory.resolve("transitions.log").toString());
+        eventLog.setSegmentRecords(segmentRecords);
+        eventLog.setFsyncMillis(1000L);
+        TransitionLog log = new TransitionLog(appProperties, new SimpleMeterRegistry());
+        log.open();
+        return log;
+    }
+}
@@ -0,0 +1,105 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.entity.MedicationEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.model.mapper.DroneMapperImpl;
+import com.hitachi.drone.model.mapper.MedicationMapperImpl;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the bytes allocated per GET /api/drones read on the entity→domain→DTO path and on the direct
+ * DTO path. Both run against the same fleet with a cleared persistence context per request. Tagged
+ * {@code benchmark}, so it only runs with the {@code benchmark} profile.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({DroneMapperImpl.class, MedicationMapperImpl.class})
+@DisplayName("Drone read path allocation benchmark")
+@Slf4j
+class DroneReadPathAllocationTest {
+
+    private static final int DRONES = 200;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private DroneMapper droneMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DRONES; i++) {
+            DroneEntity drone = DroneEntity.builder()
+                    .serialNumber("BENCH-" + i)
+                    .model(DroneModel.HEAVYWEIGHT)
+                    .batteryCapacity(100.0)
+                    .state(DroneState.IDLE)
+                    .currentWeight(30.0)
+                    .build();
+            for (int j = 0; j < 3; j++) {
+                drone.getMedications().add(MedicationEntity.builder()
+                        .name("Medication-" + j)
+                        .code("MED_" + j)
+                        .weight(10.0)
+                        .image("https://example.com/med.jpg")
+                        .drone(drone)
+                        .build());
+            }
+            entityManager.persist(drone);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Direct DTO path should allocate less per request than the entity path")
+    void testAllocationsPerRequest() {
+        long entityPath = bytesPerRequest(() ->
+                droneMapper.toDTO(droneMapper.toDomain(droneRepository.findByStateIsNullOrState(DroneState.IDLE))));
+        long directPath = bytesPerRequest(() -> droneRepository.findResponsesByStateIsNullOrState(DroneState.IDLE));
+
+        log.info("Bytes allocated per request for {} drones: entity path {}, direct path {} ({}% less)",
+                DRONES, entityPath, directPath, 100 - directPath * 100 / entityPath);
+        assertThat(directPath).isLessThan(entityPath);
+    }
+
+    private long bytesPerRequest(Supplier<List<DroneResponse>> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(request.get()).hasSizeGreaterThanOrEqualTo(DRONES);
+            entityManager.clear();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.get();
+            entityManager.clear();
+        }
+        return (allocatedBytes() - before) / ITERATIONS;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,230 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.dto.DroneResponse;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.entity.MedicationEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.projection.DroneSummaryView;
+import com.hitachi.drone.telemetry.BatteryHistory;
+import com.hitachi.drone.telemetry.BatteryTelemetryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("DroneRepository Tests")
+class DroneRepositoryTest {
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            DroneEntity drone = DroneEntity.builder()
+                    .serialNumber("FETCH-" + i)
+                    .model(DroneModel.HEAVYWEIGHT)
+                    .batteryCapacity(100.0)
+                    .state(DroneState.IDLE)
+                    .currentWeight(20.0)
+                    .build();
+            for (int j = 0; j < 2; j++) {
+                drone.getMedications().add(MedicationEntity.builder()
+                        .name("Medication-" + j)
+                        .code("MED_" + j)
+                        .weight(10.0)
+                        .image("https://example.com/med.jpg")
+                        .drone(drone)
+                        .build());
+            }
+            entityManager.persist(drone);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load drones and their medications in a single query")
+    void testFindByStateIsNullOrState_SingleQuery() {
+        List<DroneEntity> drones = droneRepository.findByStateIsNullOrState(DroneState.IDLE);
+        int medications = drones.stream().mapToInt(drone -> drone.getMedications().size()).sum();
+
+        assertThat(drones).hasSizeGreaterThanOrEqualTo(20);
+        assertThat(medications).isGreaterThanOrEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load a drone and its medications in a single query")
+    void testFindBySerialNumber_SingleQuery() {
+        DroneEntity drone = droneRepository.findBySerialNumber("FETCH-0").orElseThrow();
+
+        assertThat(drone.getMedications()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read drone summaries without touching the medications")
+    void testFindSummaryByStateIsNullOrState_NoMedications() {
+        List<DroneSummaryView> drones = droneRepository.findSummaryByStateIsNullOrState(DroneState.IDLE);
+
+        assertThat(drones).hasSizeGreaterThanOrEqualTo(20);
+        assertThat(drones.getFirst().getWeightLimit()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should build drone responses with their medications in a single query")
+    void testFindResponsesByStateIsNullOrState_SingleQuery() {
+        List<DroneResponse> drones = droneRepository.findResponsesByStateIsNullOrState(DroneState.IDLE);
+
+        assertThat(drones).filteredOn(drone -> drone.serialNumber().startsWith("FETCH-"))
+                .hasSize(20)
+                .allSatisfy(drone -> {
+                    assertThat(drone.medications()).hasSize(2);
+                    assertThat(drone.currentWeight()).isEqualTo(20.0);
+                    assertThat(drone.weightLimit()).isEqualTo(1000.0);
+                });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page drone responses with one query for drones and one for medications")
+    void testFindResponsePage() {
+        List<DroneResponse> page = droneRepository.findResponsePage(DroneState.IDLE, "FETCH-", 5);
+
+        assertThat(page).extracting(DroneResponse::serialNumber)
+                .containsExactly("FETCH-0", "FETCH-1", "FETCH-10", "FETCH-11", "FETCH-12");
+        assertThat(page).allSatisfy(drone -> assertThat(drone.medications()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should find idle drones of a model with enough battery and free weight, fullest first")
+    void testFindAvailable() {
+        entityManager.persist(DroneEntity.builder().serialNumber("AVAIL-FULL").model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(100.0).state(DroneState.IDLE).currentWeight(200.0).build());
+        entityManager.persist(DroneEntity.builder().serialNumber("AVAIL-TIGHT").model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(100.0).state(DroneState.IDLE).currentWeight(150.0).build());
+        entityManager.persist(DroneEntity.builder().serialNumber("AVAIL-EMPTY").model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(100.0).state(DroneState.IDLE).currentWeight(0.0).build());
+        entityManager.persist(DroneEntity.builder().serialNumber("AVAIL-LOW").model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(10.0).state(DroneState.IDLE).currentWeight(0.0).build());
+        entityManager.persist(DroneEntity.builder().serialNumber("AVAIL-BUSY").model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(100.0).state(DroneState.LOADING).currentWeight(0.0).build());
+        entityManager.flush();
+
+        List<DroneSummaryView> available = droneRepository.findAvailable(DroneState.IDLE, DroneModel.LIGHTWEIGHT,
+                250.0 - 100.0, 25.0, Limit.of(10));
+
+        assertThat(available).extracting(DroneSummaryView::getSerialNumber)
+                .filteredOn(serialNumber -> serialNumber.startsWith("AVAIL-"))
+                .containsExactly("AVAIL-TIGHT", "AVAIL-EMPTY");
+    }
+
+    @Test
+    @DisplayName("Should reject a write based on a drone read before a concurrent update")
+    void testSave_StaleVersion() {
+        DroneEntity stale = droneRepository.findBySerialNumber("FETCH-0").orElseThrow();
+        entityManager.clear();
+        droneRepository.updateState(DroneState.IDLE, DroneState.LOADING);
+
+        stale.setState(DroneState.LOADING);
+        stale.setCurrentWeight(100.0);
+
+        assertThatThrownBy(() -> droneRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Should return every drone without a state, paged or not")
+    void testFindWithoutState_SameDronesPagedOrNot() {
+        List<String> paged = droneRepository.findPage(null, null, Limit.of(1000)).stream()
+                .map(DroneEntity::getSerialNumber).toList();
+
+        assertThat(paged).hasSizeGreaterThanOrEqualTo(20);
+        assertThat(droneRepository.findByStateIsNullOrState(null)).extracting(DroneEntity::getSerialNumber)
+                .containsExactlyInAnyOrderElementsOf(paged);
+        assertThat(droneRepository.findSummaryByStateIsNullOrState(null)).extracting(DroneSummaryView::getSerialNumber)
+                .containsExactlyInAnyOrderElementsOf(paged);
+        assertThat(droneRepository.findResponsesByStateIsNullOrState(null)).extracting(DroneResponse::serialNumber)
+                .containsExactlyElementsOf(paged);
+        assertThat(droneRepository.findSummaryPage(null, null, Limit.of(1000))).extracting(DroneSummaryView::getSerialNumber)
+                .containsExactlyElementsOf(paged);
+        assertThat(droneRepository.findResponsePage(null, null, 1000)).extracting(DroneResponse::serialNumber)
+                .containsExactlyElementsOf(paged);
+    }
+
+    @Test
+    @DisplayName("Should keep a battery capacity flushed between reading and saving a drone")
+    void testSave_AfterTelemetryFlush() {
+        BatteryTelemetryWriter writer = new BatteryTelemetryWriter(appProperties(), jdbcTemplate, mock(FleetCache.class),
+                mock(BatteryHistory.class), new SimpleMeterRegistry());
+        DroneEntity drone = droneRepository.findBySerialNumber("FETCH-0").orElseThrow();
+
+        writer.ingest(List.of(new BatteryReading("FETCH-0", 42.0, Instant.now())));
+        writer.flush();
+        drone.setState(DroneState.LOADING);
+        droneRepository.saveAndFlush(drone);
+        entityManager.clear();
+
+        DroneEntity saved = droneRepository.findBySerialNumber("FETCH-0").orElseThrow();
+        assertThat(saved.getState()).isEqualTo(DroneState.LOADING);
+        assertThat(saved.getBatteryCapacity()).isEqualTo(42.0);
+    }
+
+    @Test
+    @DisplayName("Should batch medication loading for the whole fleet")
+    void testFindAll_BatchFetch() {
+        List<DroneEntity> drones = droneRepository.findAll();
+        drones.forEach(drone -> drone.getMedications().size());
+
+        assertThat(drones).hasSizeLessThanOrEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private static AppProperties appProperties() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().setMaxDrones(100);
+        appProperties.getDrone().getTelemetry().setBufferSize(16);
+        return appProperties;
+    }
+}
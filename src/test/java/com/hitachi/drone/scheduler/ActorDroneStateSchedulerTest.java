@@ -0,0 +1,124 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.actor.DroneActors;
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.model.projection.DroneStateView;
+import com.hitachi.drone.repository.DroneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActorDroneStateScheduler Tests")
+class ActorDroneStateSchedulerTest {
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DroneMapper droneMapper;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DroneActors droneActors;
+    private ActorDroneStateScheduler actorDroneStateScheduler;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().setSchedulerMode(SchedulerMode.ACTOR);
+        appProperties.getDrone().setBatteryConsumptionPerDelivery(10.0);
+        droneActors = new DroneActors(appProperties);
+        actorDroneStateScheduler = new ActorDroneStateScheduler(droneRepository, appProperties, transactionTemplate,
+                droneMapper, fleetCache, droneActors, eventPublisher);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        droneActors.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should advance every active drone on its actor and merge the reports")
+    void testProcessDroneStates() {
+        DroneEntity drone1 = drone("DRONE-001", DroneState.LOADING);
+        DroneEntity drone2 = drone("DRONE-002", DroneState.DELIVERED);
+        List<DroneStateView> active = List.of(view(drone1), view(drone2));
+        when(droneRepository.findAllByStateNot(DroneState.IDLE)).thenReturn(active);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenReturn(Optional.of(drone1));
+        when(droneRepository.findBySerialNumber("DRONE-002")).thenReturn(Optional.of(drone2));
+
+        TickReport report = actorDroneStateScheduler.processDroneStates();
+
+        assertThat(drone1.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(drone2.getState()).isEqualTo(DroneState.RETURNING);
+        assertThat(drone2.getBatteryCapacity()).isEqualTo(90.0);
+        assertThat(report.getTransitioned()).isEqualTo(2);
+        assertThat(report.getBatteryDecrements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep ticking the other drones when one transition fails")
+    void testProcessDroneStates_Failure() {
+        DroneEntity drone1 = drone("DRONE-001", DroneState.LOADING);
+        DroneEntity drone2 = drone("DRONE-002", DroneState.LOADED);
+        List<DroneStateView> active = List.of(view(drone1), view(drone2));
+        when(droneRepository.findAllByStateNot(DroneState.IDLE)).thenReturn(active);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenThrow(new IllegalStateException("database down"));
+        when(droneRepository.findBySerialNumber("DRONE-002")).thenReturn(Optional.of(drone2));
+
+        TickReport report = actorDroneStateScheduler.processDroneStates();
+
+        assertThat(drone2.getState()).isEqualTo(DroneState.DELIVERING);
+        assertThat(report.getTransitioned()).isEqualTo(1);
+    }
+
+    private static DroneStateView view(DroneEntity drone) {
+        DroneStateView view = mock(DroneStateView.class);
+        when(view.getSerialNumber()).thenReturn(drone.getSerialNumber());
+        return view;
+    }
+
+    private static DroneEntity drone(String serialNumber, DroneState state) {
+        return DroneEntity.builder()
+                .id(UUID.randomUUID())
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .batteryCapacity(100.0)
+                .state(state)
+                .medications(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkDroneStateScheduler Tests")
+class BulkDroneStateSchedulerTest {
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private MedicationRepository medicationRepository;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @InjectMocks
+    private BulkDroneStateScheduler bulkDroneStateScheduler;
+
+    private AppProperties.DroneProperties droneProperties;
+
+    @BeforeEach
+    void setUp() {
+        droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setBatteryConsumptionPerDelivery(10.0);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+    }
+
+    @Test
+    @DisplayName("Should advance states from RETURNING down to LOADING")
+    void testProcessDroneStates_Order() {
+        bulkDroneStateScheduler.processDroneStates();
+
+        InOrder inOrder = inOrder(medicationRepository, droneRepository);
+        inOrder.verify(medicationRepository).deleteByDroneState(DroneState.RETURNING);
+        inOrder.verify(droneRepository).updateStateAndClearPayload(DroneState.RETURNING, DroneState.IDLE);
+        inOrder.verify(droneRepository).updateStateAndConsumeBattery(DroneState.DELIVERED, DroneState.RETURNING, 10.0);
+        inOrder.verify(droneRepository).updateState(DroneState.DELIVERING, DroneState.DELIVERED);
+        inOrder.verify(droneRepository).updateState(DroneState.LOADED, DroneState.DELIVERING);
+        inOrder.verify(droneRepository).updateState(DroneState.LOADING, DroneState.LOADED);
+    }
+
+    @Test
+    @DisplayName("Should use configured battery consumption rate")
+    void testProcessDroneStates_ConfiguredRate() {
+        droneProperties.setBatteryConsumptionPerDelivery(15.0);
+
+        bulkDroneStateScheduler.processDroneStates();
+
+        verify(droneRepository).updateStateAndConsumeBattery(DroneState.DELIVERED, DroneState.RETURNING, 15.0);
+    }
+
+    @Test
+    @DisplayName("Should evict cached drones of the states that were updated")
+    void testProcessDroneStates_EvictsUpdatedStates() {
+        when(droneRepository.updateState(any(), any())).thenReturn(0);
+        when(droneRepository.updateState(DroneState.LOADING, DroneState.LOADED)).thenReturn(2);
+
+        bulkDroneStateScheduler.processDroneStates();
+
+        verify(fleetCache).evictState(DroneState.LOADING);
+        verify(fleetCache, never()).evictState(DroneState.RETURNING);
+    }
+
+    @Test
+    @DisplayName("Should never load drone entities")
+    void testProcessDroneStates_NoEntityLoading() {
+        bulkDroneStateScheduler.processDroneStates();
+
+        verify(droneRepository, never()).findAll();
+        verify(droneRepository, never()).saveAll(any());
+    }
+}
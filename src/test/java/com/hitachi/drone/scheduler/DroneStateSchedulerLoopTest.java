@@ -0,0 +1,202 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.model.enums.DroneState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DroneStateSchedulerLoop Tests")
+class DroneStateSchedulerLoopTest {
+
+    @Mock
+    private DroneStateProcessor processor;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+
+    private MeterRegistry meterRegistry;
+
+    private DroneStateSchedulerLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.DroneProperties droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setStateSchedulerFixedRate(1000);
+        droneProperties.setStateSchedulerIdleRate(60000);
+        lenient().when(appProperties.getDrone()).thenReturn(droneProperties);
+        lenient().when(processor.tickMillis(droneProperties)).thenReturn(1000L);
+        lenient().when(processor.processDroneStates()).thenReturn(new TickReport());
+        lenient().doAnswer(invocation -> scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        meterRegistry = new SimpleMeterRegistry();
+        loop = new DroneStateSchedulerLoop(processor, appProperties, taskScheduler,
+                new SchedulerMetrics(meterRegistry, appProperties, processor));
+        loop.start();
+    }
+
+    @Test
+    @DisplayName("Should keep the regular rate while drones are active")
+    void testTick_Active() {
+        when(processor.hasActiveDrones()).thenReturn(true);
+
+        runScheduledTick();
+
+        assertThat(lastScheduledDelay()).isCloseTo(1000, within(200L));
+        verify(processor).processDroneStates();
+    }
+
+    @Test
+    @DisplayName("Should record tick duration and transitions from the tick report")
+    void testTick_RecordsMetrics() {
+        TickReport report = new TickReport();
+        report.recordScanned(3);
+        report.recordTransition(DroneState.LOADING, DroneState.LOADED, 2);
+        report.recordTransition(DroneState.DELIVERED, DroneState.RETURNING, 1);
+        report.recordBatteryDecrements(1);
+        when(processor.processDroneStates()).thenReturn(report);
+        when(processor.hasActiveDrones()).thenReturn(true);
+
+        runScheduledTick();
+
+        assertThat(meterRegistry.get("drone.scheduler.tick").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drone.scheduler.scanned").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("drone.scheduler.transitioned").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("drone.scheduler.transitions").tag("from", "LOADING").tag("to", "LOADED")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("drone.scheduler.battery.decrements").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report the tick rate of the active scheduler mode")
+    void testRateGauge() {
+        when(processor.tickMillis(appProperties.getDrone())).thenReturn(250L);
+
+        assertThat(meterRegistry.get("drone.scheduler.rate").gauge().value()).isEqualTo(250.0);
+    }
+
+    @Test
+    @DisplayName("Should back off to the idle rate when no drone is active")
+    void testTick_Idle() {
+        when(processor.hasActiveDrones()).thenReturn(false);
+
+        runScheduledTick();
+
+        assertThat(lastScheduledDelay()).isCloseTo(60000, within(200L));
+    }
+
+    @Test
+    @DisplayName("Should wake immediately when a drone starts loading while idle")
+    void testWake_Idle() {
+        when(processor.hasActiveDrones()).thenReturn(false);
+        runScheduledTick();
+
+        loop.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+
+        verify(scheduledFuture).cancel(false);
+        assertThat(lastScheduledDelay()).isCloseTo(0, within(200L));
+    }
+
+    @Test
+    @DisplayName("Should keep the regular rate when a drone starts loading during an active tick")
+    void testWake_DuringActiveTick() {
+        when(processor.hasActiveDrones()).thenReturn(true);
+        doAnswer(invocation -> {
+            loop.onDroneStateChanged(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+            return new TickReport();
+        }).when(processor).processDroneStates();
+
+        runScheduledTick();
+
+        assertThat(lastScheduledDelay()).isCloseTo(1000, within(200L));
+    }
+
+    @Test
+    @DisplayName("Should wake right away when a drone starts loading during a tick that found the fleet idle")
+    void testWake_DuringIdleTick() {
+        when(processor.hasActiveDrones()).thenReturn(false);
+        doAnswer(invocation -> {
+            loop.wake();
+            return new TickReport();
+        }).when(processor).processDroneStates();
+
+        runScheduledTick();
+
+        assertThat(lastScheduledDelay()).isCloseTo(0, within(200L));
+    }
+
+    @Test
+    @DisplayName("Should skip a tick that a wake-up replaced even if it was already dispatched")
+    void testWake_SkipsReplacedTick() {
+        when(processor.hasActiveDrones()).thenReturn(false);
+        runScheduledTick();
+        Runnable replaced = lastScheduledTick();
+
+        loop.wake();
+        replaced.run();
+
+        verify(processor, times(1)).processDroneStates();
+        runScheduledTick();
+        verify(processor, times(2)).processDroneStates();
+    }
+
+    @Test
+    @DisplayName("Should merge missed ticks and count the overrun")
+    void testTick_Overrun() {
+        when(processor.hasActiveDrones()).thenReturn(true);
+        doAnswer(invocation -> {
+            Thread.sleep(2300);
+            return new TickReport();
+        }).when(processor).processDroneStates();
+
+        runScheduledTick();
+
+        assertThat(meterRegistry.get("drone.scheduler.overruns").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drone.scheduler.skipped.ticks").counter().count()).isEqualTo(2);
+        assertThat(lastScheduledDelay()).isBetween(0L, 1000L);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private void runScheduledTick() {
+        lastScheduledTick().run();
+    }
+
+    private Runnable lastScheduledTick() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, atLeastOnce()).schedule(captor.capture(), any(Instant.class));
+        return captor.getValue();
+    }
+
+    private long lastScheduledDelay() {
+        ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), captor.capture());
+        return captor.getValue().toEpochMilli() - System.currentTimeMillis();
+    }
+}
@@ -1,10 +1,13 @@
 package com.hitachi.drone.scheduler;
 
+import com.hitachi.drone.cache.FleetCache;
 import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
 import com.hitachi.drone.model.entity.DroneEntity;
 import com.hitachi.drone.model.entity.MedicationEntity;
 import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
 import com.hitachi.drone.repository.DroneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,13 +17,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +46,18 @@ class DroneStateSchedulerTest {
     @Mock
     private AppProperties appProperties;
 
+    @Mock
+    private DroneMapper droneMapper;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private DroneStateScheduler droneStateScheduler;
 
@@ -47,6 +71,8 @@ class DroneStateSchedulerTest {
         droneProperties.setMinBatteryForLoading(25.0);
         droneProperties.setBatteryConsumptionPerDelivery(10.0);
         droneProperties.setStateSchedulerFixedRate(10000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         testDrone = DroneEntity.builder()
                 .id(UUID.randomUUID())
@@ -69,6 +95,7 @@ class DroneStateSchedulerTest {
 
         assertThat(testDrone.getState()).isEqualTo(DroneState.LOADED);
         verify(droneRepository).saveAll(anyList());
+        verify(eventPublisher).publishEvent(new DroneStateChangedEvent("DRONE-001", DroneState.LOADING, DroneState.LOADED));
     }
 
     @Test
@@ -125,6 +152,7 @@ class DroneStateSchedulerTest {
                 .image("https://example.com/med.jpg")
                 .build();
         testDrone.getMedications().add(medication);
+        testDrone.setCurrentWeight(100.0);
 
         List<DroneEntity> drones = List.of(testDrone);
         when(droneRepository.findAll()).thenReturn(drones);
@@ -133,6 +161,7 @@ class DroneStateSchedulerTest {
 
         assertThat(testDrone.getState()).isEqualTo(DroneState.IDLE);
         assertThat(testDrone.getMedications()).isEmpty();
+        assertThat(testDrone.getCurrentWeight()).isZero();
         verify(droneRepository).saveAll(anyList());
     }
 
@@ -363,4 +392,67 @@ class DroneStateSchedulerTest {
         assertThat(drone.getState()).isEqualTo(DroneState.IDLE);
         assertThat(drone.getMedications()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should retry the drones of a fleet update that lost an optimistic lock race one by one")
+    void testProcessDroneStates_RetriesConflictingDrones() {
+        testDrone.setState(DroneState.LOADING);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        DroneEntity reread = drone("DRONE-001", DroneState.LOADING);
+        reread.setId(testDrone.getId());
+        when(droneRepository.findAll()).thenReturn(List.of(testDrone));
+        when(droneRepository.findById(testDrone.getId())).thenReturn(Optional.of(reread));
+        doAnswer(invocation -> {
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            throw new ObjectOptimisticLockingFailureException(DroneEntity.class, testDrone.getId());
+        }).doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        TickReport report = droneStateScheduler.processDroneStates();
+
+        assertThat(reread.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getConflicts()).isEqualTo(1);
+        assertThat(report.getTransitioned()).isEqualTo(1);
+        verify(droneRepository).save(reread);
+        verify(fleetCache).put(any());
+    }
+
+    @Test
+    @DisplayName("Should leave a drone that conflicts again for the next tick without holding back the others")
+    void testProcessDroneStates_DroneConflictsAgain() {
+        testDrone.setState(DroneState.LOADING);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        DroneEntity other = drone("DRONE-002", DroneState.LOADED);
+        DroneEntity otherReread = drone("DRONE-002", DroneState.LOADED);
+        otherReread.setId(other.getId());
+        when(droneRepository.findAll()).thenReturn(List.of(testDrone, other));
+        when(droneRepository.findById(testDrone.getId())).thenReturn(Optional.of(drone("DRONE-001", DroneState.LOADING)));
+        when(droneRepository.findById(other.getId())).thenReturn(Optional.of(otherReread));
+        Answer<Object> conflict = invocation -> {
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            throw new ObjectOptimisticLockingFailureException(DroneEntity.class, testDrone.getId());
+        };
+        doAnswer(conflict)
+                .doAnswer(conflict)
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        TickReport report = droneStateScheduler.processDroneStates();
+
+        assertThat(otherReread.getState()).isEqualTo(DroneState.DELIVERING);
+        assertThat(report.getConflicts()).isEqualTo(2);
+        assertThat(report.getTransitions())
+                .containsOnlyKeys(new TickReport.Transition(DroneState.LOADED, DroneState.DELIVERING));
+    }
+
+    private DroneEntity drone(String serialNumber, DroneState state) {
+        return DroneEntity.builder()
+                .id(UUID.randomUUID())
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .batteryCapacity(100.0)
+                .state(state)
+                .medications(new ArrayList<>())
+                .build();
+    }
 }
@@ -0,0 +1,40 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.model.entity.DroneEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FleetPartition Tests")
+class FleetPartitionTest {
+
+    @Test
+    @DisplayName("Should cover every bucket exactly once")
+    void testOf_CoversAllBuckets() {
+        int partitions = 7;
+        int expectedFrom = 0;
+        for (int i = 0; i < partitions; i++) {
+            FleetPartition partition = FleetPartition.of(i, partitions);
+            assertThat(partition.fromBucket()).isEqualTo(expectedFrom);
+            assertThat(partition.toBucket()).isGreaterThan(partition.fromBucket());
+            expectedFrom = partition.toBucket();
+        }
+        assertThat(expectedFrom).isEqualTo(DroneEntity.BUCKETS);
+    }
+
+    @Test
+    @DisplayName("Should reject partitions outside the range")
+    void testOf_Invalid() {
+        assertThatThrownBy(() -> FleetPartition.of(4, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FleetPartition.of(0, DroneEntity.BUCKETS + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should spread sequential serial numbers across buckets")
+    void testBucketOf_Spread() {
+        assertThat(DroneEntity.bucketOf("DRONE-001")).isNotEqualTo(DroneEntity.bucketOf("DRONE-002"));
+        assertThat(DroneEntity.bucketOf("DRONE-001")).isBetween(0, DroneEntity.BUCKETS - 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hitachi.drone.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("Should not expire items before their expiration")
+    void testAdvance_NotDueYet() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 0);
+        wheel.schedule("DRONE-001", 450);
+
+        assertThat(wheel.advance(400)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire items at most one tick late")
+    void testAdvance_Due() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 0);
+        wheel.schedule("DRONE-001", 450);
+
+        assertThat(wheel.advance(500)).containsExactly("DRONE-001");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return overdue items on the next advance")
+    void testSchedule_Overdue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 1000);
+        wheel.schedule("DRONE-001", 500);
+
+        assertThat(wheel.advance(1000)).containsExactly("DRONE-001");
+    }
+
+    @Test
+    @DisplayName("Should cascade items from overflow levels")
+    void testAdvance_Overflow() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        wheel.schedule("DRONE-001", 55);
+        wheel.schedule("DRONE-002", 170);
+        wheel.schedule("DRONE-003", 1234);
+
+        List<String> expired = new ArrayList<>();
+        for (long now = 0; now <= 2000; now += 10) {
+            List<String> due = wheel.advance(now);
+            if (due.contains("DRONE-001")) {
+                assertThat(now).isBetween(56L, 70L);
+            }
+            if (due.contains("DRONE-002")) {
+                assertThat(now).isBetween(171L, 180L);
+            }
+            if (due.contains("DRONE-003")) {
+                assertThat(now).isBetween(1235L, 1250L);
+            }
+            expired.addAll(due);
+        }
+
+        assertThat(expired).containsExactly("DRONE-001", "DRONE-002", "DRONE-003");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should expire items when the clock jumps ahead")
+    void testAdvance_ClockJump() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        wheel.schedule("DRONE-001", 35);
+        wheel.schedule("DRONE-002", 900);
+
+        assertThat(wheel.advance(5000)).containsExactly("DRONE-001", "DRONE-002");
+    }
+}
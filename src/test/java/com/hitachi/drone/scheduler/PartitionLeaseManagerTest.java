@@ -0,0 +1,121 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.SchedulerLeaseEntity;
+import com.hitachi.drone.repository.SchedulerLeaseRepository;
+import com.hitachi.drone.repository.SchedulerMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionLeaseManager Tests")
+class PartitionLeaseManagerTest {
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Mock
+    private SchedulerMemberRepository memberRepository;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PartitionLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.DroneProperties droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setSchedulerMode(SchedulerMode.PARTITIONED);
+        droneProperties.setSchedulerPartitions(4);
+        droneProperties.getCluster().setInstanceId("instance-a");
+        droneProperties.getCluster().setLeaseMillis(15000L);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        leaseManager = new PartitionLeaseManager(leaseRepository, memberRepository, appProperties, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should acquire only its fair share of free partitions")
+    void testHeartbeat_FairShare() {
+        when(memberRepository.countByHeartbeatAtAfter(any())).thenReturn(2L);
+        when(leaseRepository.findByOwnerIsNullOrExpiresAtBeforeOrderByPartitionId(any())).thenReturn(freeLeases(0, 1, 2, 3));
+        when(leaseRepository.tryAcquire(anyInt(), eq("instance-a"), any(), any())).thenReturn(1);
+
+        leaseManager.heartbeat();
+
+        assertThat(leaseManager.owns(0)).isTrue();
+        assertThat(leaseManager.owns(1)).isTrue();
+        assertThat(leaseManager.owns(2)).isFalse();
+        assertThat(leaseManager.owns(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should release partitions above its fair share when another instance joins")
+    void testHeartbeat_Rebalance() {
+        when(memberRepository.countByHeartbeatAtAfter(any())).thenReturn(1L, 2L);
+        when(leaseRepository.findByOwnerIsNullOrExpiresAtBeforeOrderByPartitionId(any()))
+                .thenReturn(freeLeases(0, 1, 2, 3))
+                .thenReturn(List.of());
+        when(leaseRepository.tryAcquire(anyInt(), eq("instance-a"), any(), any())).thenReturn(1);
+
+        leaseManager.heartbeat();
+        leaseManager.heartbeat();
+
+        assertThat(IntStream.range(0, 4).filter(leaseManager::owns).count()).isEqualTo(2);
+        verify(leaseRepository).release(3, "instance-a");
+        verify(leaseRepository).release(2, "instance-a");
+        verify(leaseRepository, never()).release(0, "instance-a");
+    }
+
+    @Test
+    @DisplayName("Should drop partitions whose lease could not be renewed")
+    void testHeartbeat_LostLease() {
+        when(memberRepository.countByHeartbeatAtAfter(any())).thenReturn(1L);
+        when(leaseRepository.findByOwnerIsNullOrExpiresAtBeforeOrderByPartitionId(any()))
+                .thenReturn(freeLeases(0))
+                .thenReturn(List.of());
+        when(leaseRepository.tryAcquire(eq(0), eq("instance-a"), any(), any())).thenReturn(1, 0);
+
+        leaseManager.heartbeat();
+        assertThat(leaseManager.owns(0)).isTrue();
+
+        leaseManager.heartbeat();
+        assertThat(leaseManager.owns(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with a scheduler mode that ignores leases")
+    void testConstructor_RejectsNonPartitionedMode() {
+        appProperties.getDrone().setSchedulerMode(SchedulerMode.ENTITY);
+
+        assertThatThrownBy(() -> new PartitionLeaseManager(leaseRepository, memberRepository, appProperties,
+                transactionTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("scheduler-mode=partitioned");
+    }
+
+    private List<SchedulerLeaseEntity> freeLeases(int... partitions) {
+        return IntStream.of(partitions)
+                .mapToObj(partition -> SchedulerLeaseEntity.builder().partitionId(partition).build())
+                .toList();
+    }
+}
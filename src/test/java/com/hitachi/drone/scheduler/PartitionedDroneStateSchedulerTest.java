@@ -0,0 +1,206 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.repository.DroneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionedDroneStateScheduler Tests")
+class PartitionedDroneStateSchedulerTest {
+
+    private static final int PARTITIONS = 4;
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ObjectProvider<PartitionLeaseManager> leaseManagerProvider;
+
+    @Mock
+    private PartitionLeaseManager leaseManager;
+
+    @Mock
+    private DroneMapper droneMapper;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AppProperties.DroneProperties droneProperties;
+
+    @BeforeEach
+    void setUp() {
+        droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setSchedulerPartitions(PARTITIONS);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should query every partition by its own bucket range")
+    void testProcessDroneStates_AllPartitions() {
+        PartitionedDroneStateScheduler scheduler = scheduler(null);
+        when(droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(eq(DroneState.IDLE), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        scheduler.processDroneStates();
+
+        for (int i = 0; i < PARTITIONS; i++) {
+            FleetPartition partition = FleetPartition.of(i, PARTITIONS);
+            verify(droneRepository).findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(
+                    DroneState.IDLE, partition.fromBucket(), partition.toBucket());
+        }
+    }
+
+    @Test
+    @DisplayName("Should advance each drone in the partition that holds its bucket and merge the partition reports")
+    void testProcessDroneStates_AdvancesPartitionDrones() {
+        PartitionedDroneStateScheduler scheduler = scheduler(null);
+        DroneEntity drone = drone("DRONE-001");
+        FleetPartition owner = partitionOf(drone);
+        when(droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(eq(DroneState.IDLE), anyInt(), anyInt()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(1) == owner.fromBucket()
+                        ? List.of(drone) : List.of());
+
+        TickReport report = scheduler.processDroneStates();
+
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getScanned()).isEqualTo(1);
+        assertThat(report.getTransitions())
+                .containsEntry(new TickReport.Transition(DroneState.LOADING, DroneState.LOADED), 1L);
+    }
+
+    @Test
+    @DisplayName("Should count a conflicting partition without holding up the others")
+    void testProcessDroneStates_ConflictingPartition() {
+        PartitionedDroneStateScheduler scheduler = scheduler(null);
+        DroneEntity drone = drone("DRONE-001");
+        FleetPartition owner = partitionOf(drone);
+        when(droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(eq(DroneState.IDLE), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    if (invocation.<Integer>getArgument(1) == owner.fromBucket()) {
+                        return List.of(drone);
+                    }
+                    throw new ObjectOptimisticLockingFailureException(DroneEntity.class, "DRONE-XXX");
+                });
+
+        TickReport report = scheduler.processDroneStates();
+
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getTransitioned()).isEqualTo(1);
+        assertThat(report.getConflicts()).isEqualTo(PARTITIONS - 1);
+    }
+
+    @Test
+    @DisplayName("Should only process the partitions leased to this instance")
+    void testProcessDroneStates_LeasedPartitions() {
+        PartitionedDroneStateScheduler scheduler = scheduler(leaseManager);
+        when(leaseManager.owns(anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(0) % 2 == 1);
+        when(leaseManager.lock(anyInt())).thenReturn(true);
+        when(droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(eq(DroneState.IDLE), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        scheduler.processDroneStates();
+
+        for (int i = 0; i < PARTITIONS; i++) {
+            FleetPartition partition = FleetPartition.of(i, PARTITIONS);
+            if (i % 2 == 1) {
+                verify(droneRepository).findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(
+                        DroneState.IDLE, partition.fromBucket(), partition.toBucket());
+            } else {
+                verify(droneRepository, never()).findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(
+                        DroneState.IDLE, partition.fromBucket(), partition.toBucket());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait for running partitions to finish on shutdown")
+    void testShutdown_WaitsForRunningPartitions() throws InterruptedException {
+        droneProperties.setSchedulerPartitions(1);
+        PartitionedDroneStateScheduler scheduler = scheduler(null);
+        DroneEntity drone = drone("DRONE-001");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(droneRepository.findByStateNotAndBucketGreaterThanEqualAndBucketLessThan(eq(DroneState.IDLE), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return List.of(drone);
+                });
+
+        Thread tick = Thread.ofVirtual().start(scheduler::processDroneStates);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        scheduler.shutdown();
+
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        tick.join();
+    }
+
+    private PartitionedDroneStateScheduler scheduler(PartitionLeaseManager leaseManager) {
+        when(leaseManagerProvider.getIfAvailable()).thenReturn(leaseManager);
+        return new PartitionedDroneStateScheduler(droneRepository, appProperties, transactionTemplate,
+                leaseManagerProvider, droneMapper, fleetCache, eventPublisher);
+    }
+
+    private FleetPartition partitionOf(DroneEntity drone) {
+        for (int i = 0; i < PARTITIONS; i++) {
+            FleetPartition partition = FleetPartition.of(i, PARTITIONS);
+            if (drone.getBucket() >= partition.fromBucket() && drone.getBucket() < partition.toBucket()) {
+                return partition;
+            }
+        }
+        throw new IllegalStateException("No partition for bucket " + drone.getBucket());
+    }
+
+    private DroneEntity drone(String serialNumber) {
+        return DroneEntity.builder()
+                .id(UUID.randomUUID())
+                .serialNumber(serialNumber)
+                .bucket(DroneEntity.bucketOf(serialNumber))
+                .model(DroneModel.HEAVYWEIGHT)
+                .batteryCapacity(100.0)
+                .state(DroneState.LOADING)
+                .medications(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.repository.DroneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamingDroneStateScheduler Tests")
+class StreamingDroneStateSchedulerTest {
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private DroneMapper droneMapper;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StreamingDroneStateScheduler streamingDroneStateScheduler;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.DroneProperties droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setBatteryConsumptionPerDelivery(10.0);
+        droneProperties.setSchedulerChunkSize(2);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should walk the fleet in keyset-ordered chunks")
+    void testProcessDroneStates_Chunks() {
+        DroneEntity drone1 = drone("DRONE-001", DroneState.LOADING);
+        DroneEntity drone2 = drone("DRONE-002", DroneState.LOADED);
+        DroneEntity drone3 = drone("DRONE-003", DroneState.DELIVERED);
+        when(droneRepository.findByStateNotOrderById(DroneState.IDLE, Limit.of(2))).thenReturn(List.of(drone1, drone2));
+        when(droneRepository.findByStateNotAndIdGreaterThanOrderById(DroneState.IDLE, drone2.getId(), Limit.of(2)))
+                .thenReturn(List.of(drone3));
+
+        streamingDroneStateScheduler.processDroneStates();
+
+        assertThat(drone1.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(drone2.getState()).isEqualTo(DroneState.DELIVERING);
+        assertThat(drone3.getState()).isEqualTo(DroneState.RETURNING);
+        assertThat(drone3.getBatteryCapacity()).isEqualTo(90.0);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should read and apply a chunk again after it lost an optimistic lock race")
+    void testProcessDroneStates_RetriesConflictingChunk() {
+        DroneEntity drone1 = drone("DRONE-001", DroneState.LOADING);
+        when(droneRepository.findByStateNotOrderById(DroneState.IDLE, Limit.of(2))).thenReturn(List.of(drone1));
+        doThrow(new ObjectOptimisticLockingFailureException(DroneEntity.class, drone1.getId()))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        TickReport report = streamingDroneStateScheduler.processDroneStates();
+
+        assertThat(drone1.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getConflicts()).isEqualTo(1);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should run a single empty chunk when no drone is active")
+    void testProcessDroneStates_Empty() {
+        when(droneRepository.findByStateNotOrderById(DroneState.IDLE, Limit.of(2))).thenReturn(List.of());
+
+        streamingDroneStateScheduler.processDroneStates();
+
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    private DroneEntity drone(String serialNumber, DroneState state) {
+        return DroneEntity.builder()
+                .id(UUID.randomUUID())
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .batteryCapacity(100.0)
+                .state(state)
+                .medications(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.model.entity.DroneEntity;
+import com.hitachi.drone.model.enums.DroneModel;
+import com.hitachi.drone.model.enums.DroneState;
+import com.hitachi.drone.model.mapper.DroneMapper;
+import com.hitachi.drone.repository.DroneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimingWheelDroneStateScheduler Tests")
+class TimingWheelDroneStateSchedulerTest {
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DroneMapper droneMapper;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TimingWheelDroneStateScheduler timingWheelDroneStateScheduler;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.DroneProperties droneProperties = new AppProperties.DroneProperties();
+        droneProperties.setStateSchedulerFixedRate(60000);
+        // A negative dwell puts LOADING drones in the past, so they are due on the next tick
+        droneProperties.getStateDwell().put(DroneState.LOADING, Duration.ofSeconds(-1));
+        droneProperties.getWheel().setTickMillis(1000L);
+        droneProperties.getWheel().setWheelSize(64);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        timingWheelDroneStateScheduler = new TimingWheelDroneStateScheduler(droneRepository, appProperties,
+                transactionTemplate, droneMapper, fleetCache, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should advance a due drone and schedule its next transition")
+    void testProcessDroneStates_AdvancesDueDrone() {
+        DroneEntity drone = drone("DRONE-001");
+        load(drone);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenReturn(Optional.of(drone));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        TickReport report = timingWheelDroneStateScheduler.processDroneStates();
+
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getTransitioned()).isEqualTo(1);
+        assertThat(timingWheelDroneStateScheduler.hasActiveDrones()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reschedule a drone that lost an optimistic lock race")
+    void testProcessDroneStates_ReschedulesConflictingDrone() {
+        load(drone("DRONE-001"));
+        doThrow(new ObjectOptimisticLockingFailureException(DroneEntity.class, "DRONE-001"))
+                .when(transactionTemplate).execute(any());
+
+        TickReport report = timingWheelDroneStateScheduler.processDroneStates();
+
+        assertThat(report.getConflicts()).isEqualTo(1);
+        assertThat(timingWheelDroneStateScheduler.hasActiveDrones()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep advancing the tick and reschedule a drone whose transition failed")
+    void testProcessDroneStates_ReschedulesFailedDrone() {
+        DroneEntity drone2 = drone("DRONE-002");
+        load(drone("DRONE-001"));
+        load(drone2);
+        when(droneRepository.findBySerialNumber("DRONE-002")).thenReturn(Optional.of(drone2));
+        doThrow(new IllegalStateException("Connection lost"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        TickReport report = timingWheelDroneStateScheduler.processDroneStates();
+
+        assertThat(drone2.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(report.getTransitioned()).isEqualTo(1);
+        verify(transactionTemplate, times(2)).execute(any());
+
+        // Both drones are back in the wheel: DRONE-001 for a retry, DRONE-002 for its next state
+        assertThat(timingWheelDroneStateScheduler.processDroneStates().getScanned()).isZero();
+        assertThat(timingWheelDroneStateScheduler.hasActiveDrones()).isTrue();
+    }
+
+    private void load(DroneEntity drone) {
+        timingWheelDroneStateScheduler.onDroneStateChanged(
+                new DroneStateChangedEvent(drone.getSerialNumber(), DroneState.IDLE, DroneState.LOADING));
+    }
+
+    private DroneEntity drone(String serialNumber) {
+        return DroneEntity.builder()
+                .id(UUID.randomUUID())
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .batteryCapacity(100.0)
+                .state(DroneState.LOADING)
+                .medications(new ArrayList<>())
+                .build();
+    }
+}
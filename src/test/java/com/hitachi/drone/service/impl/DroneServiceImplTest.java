@@ -1,15 +1,36 @@
 package com.hitachi.drone.service.impl;
 
+import com.hitachi.drone.actor.DroneActors;
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.cache.FleetCounter;
+import com.hitachi.drone.cache.SerialNumberIndex;
 import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.event.DroneStateSink;
+import com.hitachi.drone.event.DroneStateStream;
+import com.hitachi.drone.event.DroneStateSubscription;
+import com.hitachi.drone.event.TransitionLog;
+import com.hitachi.drone.model.domain.BatteryReading;
+import com.hitachi.drone.model.domain.BatterySample;
 import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.DronePage;
+import com.hitachi.drone.model.domain.DroneResult;
+import com.hitachi.drone.model.domain.DroneTransition;
+import com.hitachi.drone.model.domain.DroneTransitionPage;
 import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.dto.DroneResponse;
 import com.hitachi.drone.model.entity.DroneEntity;
 import com.hitachi.drone.model.entity.MedicationEntity;
+import com.hitachi.drone.model.enums.BatteryResolution;
 import com.hitachi.drone.model.enums.DroneModel;
 import com.hitachi.drone.model.enums.DroneState;
 import com.hitachi.drone.model.mapper.DroneMapper;
 import com.hitachi.drone.model.mapper.MedicationMapper;
+import com.hitachi.drone.model.projection.DroneSummaryView;
 import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.scheduler.SchedulerMode;
+import com.hitachi.drone.telemetry.BatteryHistory;
+import com.hitachi.drone.telemetry.BatteryTelemetryWriter;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,17 +38,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,6 +84,36 @@ class DroneServiceImplTest {
     @Mock
     private AppProperties appProperties;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private SerialNumberIndex serialNumberIndex;
+
+    @Mock
+    private BatteryTelemetryWriter batteryTelemetryWriter;
+
+    @Mock
+    private BatteryHistory batteryHistory;
+
+    @Mock
+    private TransitionLog transitionLog;
+
+    @Mock
+    private DroneStateStream droneStateStream;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private FleetCounter fleetCounter = new FleetCounter();
+
+    @Spy
+    private DroneActors droneActors = new DroneActors(actorProperties());
+
     @InjectMocks
     private DroneServiceImpl droneService;
 
@@ -63,6 +129,8 @@ class DroneServiceImplTest {
         droneProperties.setMaxDrones(10);
         droneProperties.setMinBatteryForLoading(25.0);
         droneProperties.setBatteryConsumptionPerDelivery(10.0);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         testDrone = Drone.builder()
                 .serialNumber("DRONE-001")
@@ -117,6 +185,7 @@ class DroneServiceImplTest {
         assertThat(result.getBatteryCapacity()).isEqualTo(100.0);
         assertThat(result.getState()).isEqualTo(DroneState.IDLE);
         verify(droneRepository).save(any(DroneEntity.class));
+        verify(fleetCache).put(testDrone);
     }
 
     @Test
@@ -161,6 +230,41 @@ class DroneServiceImplTest {
         verify(droneRepository).save(any());
     }
 
+    @Test
+    @DisplayName("Should count the fleet once and track registrations in memory")
+    void testRegisterDrone_CountsOnce() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenReturn(Optional.empty());
+        when(droneRepository.count()).thenReturn(8L);
+        when(droneMapper.toEntity(any(Drone.class))).thenReturn(testDroneEntity);
+        when(droneRepository.save(any(DroneEntity.class))).thenReturn(testDroneEntity);
+        when(droneMapper.toDomain(any(DroneEntity.class))).thenReturn(testDrone);
+
+        droneService.registerDrone(testDrone);
+        droneService.registerDrone(testDrone);
+
+        assertThatThrownBy(() -> droneService.registerDrone(testDrone))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Total drones exceeds max limit: 10");
+        verify(droneRepository).count();
+        assertThat(fleetCounter.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should hand the claimed capacity back when the insert fails")
+    void testRegisterDrone_ReleasesOnFailure() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenReturn(Optional.empty());
+        when(droneRepository.count()).thenReturn(9L);
+        when(droneMapper.toEntity(any(Drone.class))).thenReturn(testDroneEntity);
+        when(droneRepository.save(any(DroneEntity.class))).thenThrow(new IllegalStateException("constraint violation"));
+
+        assertThatThrownBy(() -> droneService.registerDrone(testDrone))
+                .hasMessageContaining("constraint violation");
+
+        assertThat(fleetCounter.size()).isEqualTo(9);
+    }
+
     @Test
     @DisplayName("Should retrieve drone by serial number successfully")
     void testGetDrone_Success() {
@@ -174,6 +278,98 @@ class DroneServiceImplTest {
         verify(droneRepository).findBySerialNumber("DRONE-001");
     }
 
+    @Test
+    @DisplayName("Should serve a cached drone without querying the repository")
+    void testGetDrone_CacheHit() {
+        when(fleetCache.get("DRONE-001")).thenReturn(Optional.of(testDrone));
+
+        Drone result = droneService.getDrone("DRONE-001");
+
+        assertThat(result).isSameAs(testDrone);
+        verify(droneRepository, never()).findBySerialNumber(any());
+    }
+
+    @Test
+    @DisplayName("Should cache a drone read from the repository unless the cache changed meanwhile")
+    void testGetDrone_CacheMiss() {
+        when(fleetCache.getInvalidations()).thenReturn(7L);
+        when(droneRepository.findBySerialNumber("DRONE-001")).thenReturn(Optional.of(testDroneEntity));
+        when(droneMapper.toDomain(any(DroneEntity.class))).thenReturn(testDrone);
+
+        droneService.getDrone("DRONE-001");
+
+        verify(fleetCache).putIfAbsent(testDrone, 7L);
+        verify(fleetCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("Should read a drone summary when medications are not needed")
+    void testGetDrone_WithoutMedications() {
+        DroneSummaryView summary = mock(DroneSummaryView.class);
+        when(droneRepository.findSummaryBySerialNumber("DRONE-001")).thenReturn(Optional.of(summary));
+        when(droneMapper.toDomain(summary)).thenReturn(testDrone);
+
+        Drone result = droneService.getDrone("DRONE-001", false);
+
+        assertThat(result).isSameAs(testDrone);
+        verify(droneRepository, never()).findBySerialNumber(any());
+        verify(fleetCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("Should query only models that can carry the weight and return the tightest fit first")
+    void testGetAvailableDrones() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        List<DroneSummaryView> cruisers = List.of(mock(DroneSummaryView.class));
+        List<DroneSummaryView> heavies = List.of(mock(DroneSummaryView.class));
+        Drone cruiser = Drone.builder().serialNumber("DRONE-003").model(DroneModel.CRUISERWEIGHT)
+                .weightLimit(750.0).currentWeight(100.0).build();
+        Drone heavy = Drone.builder().serialNumber("DRONE-004").model(DroneModel.HEAVYWEIGHT)
+                .weightLimit(1000.0).currentWeight(390.0).build();
+        when(droneRepository.findAvailable(DroneState.IDLE, DroneModel.CRUISERWEIGHT, 150.0, 25.0, Limit.of(2)))
+                .thenReturn(cruisers);
+        when(droneRepository.findAvailable(DroneState.IDLE, DroneModel.HEAVYWEIGHT, 400.0, 25.0, Limit.of(2)))
+                .thenReturn(heavies);
+        when(droneMapper.toSummaryDomain(cruisers)).thenReturn(List.of(cruiser));
+        when(droneMapper.toSummaryDomain(heavies)).thenReturn(List.of(heavy));
+
+        List<Drone> result = droneService.getAvailableDrones(600.0, 2);
+
+        assertThat(result).containsExactly(heavy, cruiser);
+        verify(droneRepository, never()).findAvailable(any(), eq(DroneModel.LIGHTWEIGHT), any(), any(), any());
+        verify(droneRepository, never()).findAvailable(any(), eq(DroneModel.MIDDLEWEIGHT), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive payload weight")
+    void testGetAvailableDrones_InvalidWeight() {
+        assertThatThrownBy(() -> droneService.getAvailableDrones(0.0, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Weight must be positive");
+    }
+
+    @Test
+    @DisplayName("Should map a cached drone straight to its response")
+    void testGetDroneResponse_CacheHit() {
+        DroneResponse response = DroneResponse.builder().serialNumber("DRONE-001").build();
+        when(fleetCache.get("DRONE-001")).thenReturn(Optional.of(testDrone));
+        when(droneMapper.toDTO(testDrone)).thenReturn(response);
+
+        assertThat(droneService.getDroneResponse("DRONE-001")).isSameAs(response);
+        verify(droneRepository, never()).findResponseBySerialNumber(any());
+    }
+
+    @Test
+    @DisplayName("Should read the response from the repository on a cache miss")
+    void testGetDroneResponse_CacheMiss() {
+        DroneResponse response = DroneResponse.builder().serialNumber("DRONE-001").build();
+        when(droneRepository.findResponseBySerialNumber("DRONE-001")).thenReturn(Optional.of(response));
+
+        assertThat(droneService.getDroneResponse("DRONE-001")).isSameAs(response);
+        verify(droneRepository, never()).findBySerialNumber(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when drone not found")
     void testGetDrone_NotFound() {
@@ -213,6 +409,88 @@ class DroneServiceImplTest {
         verify(droneRepository).findByStateIsNullOrState(DroneState.IDLE);
     }
 
+    @Test
+    @DisplayName("Should list drones from the cache when it holds the whole fleet")
+    void testGetDrones_CacheHit() {
+        when(fleetCache.findByStateIsNullOrState(DroneState.IDLE)).thenReturn(Optional.of(List.of(testDrone)));
+
+        List<Drone> result = droneService.getDrones(DroneState.IDLE);
+
+        assertThat(result).containsExactly(testDrone);
+        verify(droneRepository, never()).findByStateIsNullOrState(any());
+    }
+
+    @Test
+    @DisplayName("Should reload the fleet cache after an eviction and answer from it")
+    void testGetDrones_ReloadsCache() {
+        List<DroneEntity> fleet = List.of(testDroneEntity);
+        when(fleetCache.findByStateIsNullOrState(DroneState.IDLE))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(List.of(testDrone)));
+        when(fleetCache.isReloadable()).thenReturn(true);
+        when(fleetCache.getInvalidations()).thenReturn(3L);
+        when(droneRepository.findFleet()).thenReturn(fleet);
+        when(droneMapper.toDomain(fleet)).thenReturn(List.of(testDrone));
+
+        List<Drone> result = droneService.getDrones(DroneState.IDLE);
+
+        assertThat(result).containsExactly(testDrone);
+        verify(fleetCache).reload(List.of(testDrone), 3L);
+        verify(droneRepository, never()).findByStateIsNullOrState(any());
+    }
+
+    @Test
+    @DisplayName("Should return a page and a cursor after its last drone when more drones follow")
+    void testGetDronesPage_HasNext() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        DroneEntity next = DroneEntity.builder().serialNumber("DRONE-002").build();
+        when(droneRepository.findPage(DroneState.IDLE, null, Limit.of(2))).thenReturn(List.of(testDroneEntity, next));
+        when(droneMapper.toDomain(List.of(testDroneEntity))).thenReturn(List.of(testDrone));
+
+        DronePage page = droneService.getDrones(DroneState.IDLE, 1, null);
+
+        assertThat(page.drones()).containsExactly(testDrone);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should continue after the serial number encoded in the cursor")
+    void testGetDronesPage_Cursor() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("DRONE-001".getBytes(StandardCharsets.UTF_8));
+
+        droneService.getDrones(DroneState.IDLE, 1, cursor);
+
+        verify(droneRepository).findPage(DroneState.IDLE, "DRONE-001", Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void testGetDronesPage_LastPage() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        when(droneRepository.findPage(null, null, Limit.of(11))).thenReturn(List.of(testDroneEntity));
+        when(droneMapper.toDomain(List.of(testDroneEntity))).thenReturn(List.of(testDrone));
+
+        DronePage page = droneService.getDrones(null, 10, null);
+
+        assertThat(page.drones()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a page size above the configured maximum")
+    void testGetDronesPage_LimitTooLarge() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+
+        assertThatThrownBy(() -> droneService.getDrones(null, 1001, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be between 1 and 1000");
+    }
+
     @Test
     @DisplayName("Should return empty list when no drones found")
     void testGetDrones_EmptyResult() {
@@ -241,6 +519,7 @@ class DroneServiceImplTest {
 
         assertThat(result).isNotNull();
         assertThat(testDroneEntity.getState()).isEqualTo(DroneState.LOADING);
+        assertThat(testDroneEntity.getCurrentWeight()).isEqualTo(100.0);
         verify(droneRepository).save(any(DroneEntity.class));
     }
 
@@ -269,6 +548,7 @@ class DroneServiceImplTest {
                 .hasMessageContaining("Drone state must be IDLE to load medications");
 
         verify(droneRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -326,6 +606,7 @@ class DroneServiceImplTest {
                 .image("https://example.com/exist.jpg")
                 .build();
         testDroneEntity.getMedications().add(existingMed);
+        testDroneEntity.setCurrentWeight(900.0);
 
         Medication newMedication = Medication.builder()
                 .name("New-Medication")
@@ -432,5 +713,230 @@ class DroneServiceImplTest {
         droneService.loadMedication("DRONE-001", medications);
 
         assertThat(testDroneEntity.getState()).isEqualTo(DroneState.LOADING);
+        verify(eventPublisher).publishEvent(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+    }
+
+    @Test
+    @DisplayName("Should reject a serial number unknown to the index without querying the database")
+    void testGetDrone_UnknownToIndex() {
+        when(fleetCache.get("UNKNOWN-001")).thenReturn(Optional.empty());
+        when(serialNumberIndex.isAbsent("UNKNOWN-001")).thenReturn(true);
+
+        assertThatThrownBy(() -> droneService.getDrone("UNKNOWN-001"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Drone not found");
+
+        verify(droneRepository, never()).findBySerialNumber(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the duplicate query for a serial number unknown to the index")
+    void testRegisterDrone_UnknownToIndex() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        when(serialNumberIndex.isAbsent("DRONE-001")).thenReturn(true);
+        when(droneRepository.count()).thenReturn(0L);
+        when(droneMapper.toEntity(testDrone)).thenReturn(testDroneEntity);
+        when(droneRepository.save(testDroneEntity)).thenReturn(testDroneEntity);
+        when(droneMapper.toDomain(testDroneEntity)).thenReturn(testDrone);
+
+        droneService.registerDrone(testDrone);
+
+        verify(droneRepository, never()).findBySerialNumber(any());
+        verify(serialNumberIndex).add("DRONE-001");
+    }
+
+    @Test
+    @DisplayName("Should register a batch with one duplicate check and one count, reporting skipped drones")
+    void testRegisterDrones_PartialSuccess() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        Drone existing = Drone.builder().serialNumber("DRONE-000").model(DroneModel.LIGHTWEIGHT).batteryCapacity(100.0).build();
+        Drone overLimit = Drone.builder().serialNumber("DRONE-002").model(DroneModel.LIGHTWEIGHT).batteryCapacity(100.0).build();
+        List<Drone> drones = List.of(testDrone, existing, testDrone, overLimit);
+
+        when(droneRepository.findSerialNumbersIn(List.of("DRONE-001", "DRONE-000", "DRONE-001", "DRONE-002")))
+                .thenReturn(Set.of("DRONE-000"));
+        when(droneRepository.count()).thenReturn(9L);
+        when(droneMapper.toEntity(testDrone)).thenReturn(testDroneEntity);
+        when(droneRepository.saveAll(List.of(testDroneEntity))).thenReturn(List.of(testDroneEntity));
+        when(droneMapper.toDomain(List.of(testDroneEntity))).thenReturn(List.of(testDrone));
+
+        List<DroneResult> results = droneService.registerDrones(drones);
+
+        assertThat(results).extracting(DroneResult::drone).containsExactly(testDrone, null, null, null);
+        assertThat(results.get(1).error()).contains("already exists");
+        assertThat(results.get(2).error()).contains("already exists");
+        assertThat(results.get(3).error()).contains("exceeds max limit");
+        verify(droneRepository, never()).findBySerialNumber(any());
+        verify(fleetCache).putAll(List.of(testDrone));
+    }
+
+    @Test
+    @DisplayName("Should load the loadable drones of a batch and report the others")
+    void testLoadMedications_PartialSuccess() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        DroneEntity lowBatteryEntity = DroneEntity.builder()
+                .serialNumber("DRONE-002")
+                .model(DroneModel.LIGHTWEIGHT)
+                .batteryCapacity(10.0)
+                .state(DroneState.IDLE)
+                .medications(new ArrayList<>())
+                .build();
+        Map<String, List<Medication>> medications = new LinkedHashMap<>();
+        medications.put("DRONE-001", List.of(testMedication));
+        medications.put("DRONE-002", List.of(testMedication));
+        medications.put("DRONE-404", List.of(testMedication));
+
+        when(droneRepository.findBySerialNumberIn(List.of("DRONE-001", "DRONE-002", "DRONE-404")))
+                .thenReturn(List.of(testDroneEntity, lowBatteryEntity));
+        when(medicationMapper.toEntity(any())).thenReturn(List.of(testMedicationEntity));
+        when(droneMapper.toDomain(any(DroneEntity.class))).thenReturn(testDrone);
+
+        List<DroneResult> results = droneService.loadMedications(medications);
+
+        assertThat(results).extracting(DroneResult::serialNumber).containsExactly("DRONE-001", "DRONE-002", "DRONE-404");
+        assertThat(results.get(0).drone()).isEqualTo(testDrone);
+        assertThat(results.get(1).error()).contains("battery too low");
+        assertThat(results.get(2).error()).contains("Drone not found");
+        assertThat(testDroneEntity.getState()).isEqualTo(DroneState.LOADING);
+        assertThat(lowBatteryEntity.getState()).isEqualTo(DroneState.IDLE);
+        verify(droneRepository).saveAll(List.of(testDroneEntity));
+        verify(fleetCache).putAll(List.of(testDrone));
+        verify(eventPublisher).publishEvent(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+    }
+
+    @Test
+    @DisplayName("Should dispatch medications onto an idle drone and move it to LOADING")
+    void testDispatch_Success() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        List<Medication> medications = List.of(testMedication, testMedication);
+
+        when(droneRepository.findSummaryByStateAndBatteryCapacityGreaterThanEqual(DroneState.IDLE, 25.0))
+                .thenReturn(List.of(mock(DroneSummaryView.class)));
+        when(droneMapper.toSummaryDomain(anyList())).thenReturn(List.of(testDrone));
+        when(droneRepository.findBySerialNumberIn(any())).thenReturn(List.of(testDroneEntity));
+        when(medicationMapper.toEntity(any())).thenReturn(List.of(testMedicationEntity, testMedicationEntity));
+        when(droneRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(droneMapper.toDomain(anyList())).thenReturn(List.of(testDrone));
+
+        List<Drone> result = droneService.dispatch(medications);
+
+        assertThat(result).containsExactly(testDrone);
+        assertThat(testDroneEntity.getState()).isEqualTo(DroneState.LOADING);
+        assertThat(testDroneEntity.getCurrentWeight()).isEqualTo(200.0);
+        assertThat(testDroneEntity.getMedications()).hasSize(2);
+        verify(fleetCache).putAll(List.of(testDrone));
+        verify(eventPublisher).publishEvent(new DroneStateChangedEvent("DRONE-001", DroneState.IDLE, DroneState.LOADING));
+    }
+
+    @Test
+    @DisplayName("Should reject a dispatch when a medication fits no idle drone")
+    void testDispatch_NoDroneFits() {
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        testMedication.setWeight(1500.0);
+
+        when(droneRepository.findSummaryByStateAndBatteryCapacityGreaterThanEqual(DroneState.IDLE, 25.0))
+                .thenReturn(List.of(mock(DroneSummaryView.class)));
+        when(droneMapper.toSummaryDomain(anyList())).thenReturn(List.of(testDrone));
+
+        assertThatThrownBy(() -> droneService.dispatch(List.of(testMedication)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No idle drone can take medication");
+
+        verify(droneRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should queue only the readings of registered drones")
+    void testRecordBatteryReadings_DropsUnknownSerialNumbers() {
+        BatteryReading known = new BatteryReading("DRONE-001", 80.0, Instant.now());
+        BatteryReading unknown = new BatteryReading("GHOST-001", 80.0, Instant.now());
+        when(serialNumberIndex.isAbsent("DRONE-001")).thenReturn(false);
+        when(serialNumberIndex.isAbsent("GHOST-001")).thenReturn(true);
+        when(batteryTelemetryWriter.ingest(List.of(known))).thenReturn(1);
+
+        int accepted = droneService.recordBatteryReadings(List.of(known, unknown));
+
+        assertThat(accepted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the battery history of a drone")
+    void testGetBatteryHistory_Success() {
+        BatterySample sample = new BatterySample(Instant.EPOCH, 70.0, 90.0, 80.0);
+        when(batteryHistory.find("DRONE-001", BatteryResolution.MINUTE)).thenReturn(Optional.of(List.of(sample)));
+
+        assertThat(droneService.getBatteryHistory("DRONE-001", BatteryResolution.MINUTE)).containsExactly(sample);
+        verify(droneRepository, never()).findSummaryBySerialNumber(any());
+    }
+
+    @Test
+    @DisplayName("Should return an empty history for a drone that has not reported yet")
+    void testGetBatteryHistory_NoReadings() {
+        when(batteryHistory.find("DRONE-001", BatteryResolution.RAW)).thenReturn(Optional.empty());
+        when(droneRepository.findSummaryBySerialNumber("DRONE-001")).thenReturn(Optional.of(mock(DroneSummaryView.class)));
+
+        assertThat(droneService.getBatteryHistory("DRONE-001", BatteryResolution.RAW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw when asking the battery history of an unknown drone")
+    void testGetBatteryHistory_NotFound() {
+        when(batteryHistory.find("NON-EXISTENT", BatteryResolution.RAW)).thenReturn(Optional.empty());
+        when(droneRepository.findSummaryBySerialNumber("NON-EXISTENT")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> droneService.getBatteryHistory("NON-EXISTENT", BatteryResolution.RAW))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("NON-EXISTENT");
+    }
+
+    @Test
+    @DisplayName("Should read transitions from the log")
+    void testGetTransitions_Success() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+        DroneTransitionPage page = new DroneTransitionPage(List.of(
+                new DroneTransition(5, Instant.EPOCH, "DRONE-001", DroneState.IDLE, DroneState.LOADING)), 6);
+        when(transitionLog.read(5, 100)).thenReturn(page);
+
+        assertThat(droneService.getTransitions(5, 100)).isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should reject a transition tail above the max page size")
+    void testGetLatestTransitions_LimitTooLarge() {
+        droneProperties.setMaxPageSize(1000);
+        when(appProperties.getDrone()).thenReturn(droneProperties);
+
+        assertThatThrownBy(() -> droneService.getLatestTransitions(1001))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(transitionLog, never()).tail(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should open a state change stream for a registered drone")
+    void testStreamStateChanges_Success() {
+        DroneStateSink sink = mock(DroneStateSink.class);
+        DroneStateSubscription subscription = mock(DroneStateSubscription.class);
+        when(droneRepository.findSummaryBySerialNumber("DRONE-001")).thenReturn(Optional.of(mock(DroneSummaryView.class)));
+        when(droneStateStream.subscribe("DRONE-001", DroneState.LOADED, sink)).thenReturn(subscription);
+
+        assertThat(droneService.streamStateChanges("DRONE-001", DroneState.LOADED, sink)).isSameAs(subscription);
+    }
+
+    @Test
+    @DisplayName("Should refuse to stream the state changes of an unknown drone")
+    void testStreamStateChanges_NotFound() {
+        when(droneRepository.findSummaryBySerialNumber("NON-EXISTENT")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> droneService.streamStateChanges("NON-EXISTENT", null, mock(DroneStateSink.class)))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(droneStateStream, never()).subscribe(any(), any(), any());
+    }
+
+    private static AppProperties actorProperties() {
+        AppProperties properties = new AppProperties();
+        properties.setDrone(new AppProperties.DroneProperties());
+        properties.getDrone().setSchedulerMode(SchedulerMode.ENTITY);
+        return properties;
     }
 }
@@ -0,0 +1,91 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.model.domain.Drone;
+import com.hitachi.drone.model.domain.Medication;
+import com.hitachi.drone.model.enums.DroneModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PayloadPacker Tests")
+class PayloadPackerTest {
+
+    @Test
+    @DisplayName("Should fill the tightest drone that still fits before using another")
+    void testPack_BestFit() {
+        List<Drone> drones = List.of(
+                drone("DRONE-001", DroneModel.LIGHTWEIGHT, 0.0),
+                drone("DRONE-002", DroneModel.HEAVYWEIGHT, 0.0));
+
+        Map<String, List<Medication>> plan = PayloadPacker.pack(
+                List.of(medication("MED_A", 300.0), medication("MED_B", 600.0), medication("MED_C", 100.0)), drones);
+
+        assertThat(plan).containsOnlyKeys("DRONE-002");
+        assertThat(plan.get("DRONE-002")).extracting(Medication::getCode).containsExactly("MED_B", "MED_A", "MED_C");
+    }
+
+    @Test
+    @DisplayName("Should account for the payload a drone already carries")
+    void testPack_CurrentWeight() {
+        List<Drone> drones = List.of(
+                drone("DRONE-001", DroneModel.HEAVYWEIGHT, 900.0),
+                drone("DRONE-002", DroneModel.LIGHTWEIGHT, 0.0));
+
+        Map<String, List<Medication>> plan = PayloadPacker.pack(List.of(medication("MED_A", 200.0)), drones);
+
+        assertThat(plan).containsOnlyKeys("DRONE-002");
+    }
+
+    @Test
+    @DisplayName("Should use as many drones as the batch needs")
+    void testPack_SpillsOver() {
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            drones.add(drone("DRONE-" + i, DroneModel.LIGHTWEIGHT, 0.0));
+        }
+        List<Medication> medications = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            medications.add(medication("MED_" + i, 100.0));
+        }
+
+        Map<String, List<Medication>> plan = PayloadPacker.pack(medications, drones);
+
+        assertThat(plan).hasSize(1000);
+        assertThat(plan.values()).allSatisfy(payload -> assertThat(payload).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Should fail when a medication fits no drone")
+    void testPack_NoDroneFits() {
+        List<Drone> drones = List.of(drone("DRONE-001", DroneModel.LIGHTWEIGHT, 0.0));
+
+        assertThatThrownBy(() -> PayloadPacker.pack(List.of(medication("MED_A", 300.0)), drones))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("MED_A");
+    }
+
+    private static Drone drone(String serialNumber, DroneModel model, double currentWeight) {
+        return Drone.builder()
+                .serialNumber(serialNumber)
+                .model(model)
+                .batteryCapacity(100.0)
+                .weightLimit(model.getWeightLimit())
+                .currentWeight(currentWeight)
+                .build();
+    }
+
+    private static Medication medication(String code, double weight) {
+        return Medication.builder()
+                .name("Medication-" + code)
+                .code(code)
+                .weight(weight)
+                .image("https://example.com/med.jpg")
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.BatterySample;
+import com.hitachi.drone.model.enums.BatteryResolution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BatteryHistory Tests")
+class BatteryHistoryTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    @DisplayName("Should keep every reading at raw resolution and the min, max and average per minute")
+    void testRecord_Downsamples() {
+        BatteryHistory history = history(10, 10);
+        history.record("DRONE-001", 0, 90.0);
+        history.record("DRONE-001", 20_000, 80.0);
+        history.record("DRONE-001", 40_000, 70.0);
+        history.record("DRONE-001", MINUTE, 60.0);
+
+        assertThat(history.find("DRONE-001", BatteryResolution.RAW)).hasValueSatisfying(samples ->
+                assertThat(samples).extracting(BatterySample::avg).containsExactly(90.0, 80.0, 70.0, 60.0));
+        assertThat(history.find("DRONE-001", BatteryResolution.MINUTE)).hasValueSatisfying(samples ->
+                assertThat(samples).containsExactly(
+                        new BatterySample(Instant.EPOCH, 70.0, 90.0, 80.0),
+                        new BatterySample(Instant.ofEpochMilli(MINUTE), 60.0, 60.0, 60.0)));
+        assertThat(history.find("DRONE-001", BatteryResolution.HOUR)).hasValueSatisfying(samples ->
+                assertThat(samples).containsExactly(new BatterySample(Instant.EPOCH, 60.0, 90.0, 75.0)));
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest bucket once the slots are used up")
+    void testRecord_Wraps() {
+        BatteryHistory history = history(3, 10);
+        for (int i = 0; i < 5; i++) {
+            history.record("DRONE-001", i * MINUTE, 100.0 - i);
+        }
+
+        assertThat(history.find("DRONE-001", BatteryResolution.MINUTE)).hasValueSatisfying(samples ->
+                assertThat(samples).extracting(BatterySample::avg).containsExactly(98.0, 97.0, 96.0));
+    }
+
+    @Test
+    @DisplayName("Should ignore readings older than the newest bucket")
+    void testRecord_IgnoresOutOfOrder() {
+        BatteryHistory history = history(10, 10);
+        history.record("DRONE-001", 2 * MINUTE, 50.0);
+        history.record("DRONE-001", MINUTE, 90.0);
+
+        assertThat(history.find("DRONE-001", BatteryResolution.RAW)).hasValueSatisfying(samples ->
+                assertThat(samples).extracting(BatterySample::avg).containsExactly(50.0));
+    }
+
+    @Test
+    @DisplayName("Should track at most max-drones drones")
+    void testRecord_BoundedDrones() {
+        BatteryHistory history = history(10, 2);
+        history.record("DRONE-001", 0, 90.0);
+        history.record("DRONE-002", 0, 90.0);
+        history.record("DRONE-003", 0, 90.0);
+
+        assertThat(history.size()).isEqualTo(2);
+        assertThat(history.find("DRONE-003", BatteryResolution.RAW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void testRecord_Disabled() {
+        BatteryHistory history = history(0, 10);
+        history.record("DRONE-001", 0, 90.0);
+
+        assertThat(history.find("DRONE-001", BatteryResolution.RAW)).isEmpty();
+        assertThat(history.bytesPerDrone()).isZero();
+    }
+
+    private static BatteryHistory history(int slots, int maxDrones) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().setMaxDrones(maxDrones);
+        appProperties.getDrone().getTelemetry().setHistorySlots(slots);
+        return new BatteryHistory(appProperties);
+    }
+}
@@ -0,0 +1,169 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.cache.FleetCache;
+import com.hitachi.drone.config.AppProperties;
+import com.hitachi.drone.model.domain.BatteryReading;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatteryTelemetryWriter Tests")
+class BatteryTelemetryWriterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private FleetCache fleetCache;
+
+    @Mock
+    private BatteryHistory batteryHistory;
+
+    private BatteryTelemetryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDrone(new AppProperties.DroneProperties());
+        appProperties.getDrone().setMaxDrones(2);
+        appProperties.getDrone().getTelemetry().setBufferSize(4);
+        writer = new BatteryTelemetryWriter(appProperties, jdbcTemplate, fleetCache, batteryHistory,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should write only the newest reading of each drone")
+    @SuppressWarnings("unchecked")
+    void testFlush_Coalesces() {
+        writer.ingest(List.of(
+                new BatteryReading("DRONE-001", 80.0, NOW.plusSeconds(2)),
+                new BatteryReading("DRONE-001", 90.0, NOW),
+                new BatteryReading("DRONE-002", 50.0, NOW)));
+        matchEveryRow();
+
+        writer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).containsExactlyInAnyOrder(
+                new Object[]{80.0, "DRONE-001"}, new Object[]{50.0, "DRONE-002"});
+        verify(fleetCache).updateBatteryCapacities(Map.of("DRONE-001", 80.0, "DRONE-002", 50.0));
+    }
+
+    @Test
+    @DisplayName("Should skip readings older than the last one written")
+    void testFlush_SkipsStaleReadings() {
+        matchEveryRow();
+        writer.ingest(List.of(new BatteryReading("DRONE-001", 80.0, NOW)));
+        writer.flush();
+
+        writer.ingest(List.of(new BatteryReading("DRONE-001", 95.0, NOW.minusSeconds(1))));
+        writer.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(fleetCache).updateBatteryCapacities(Map.of("DRONE-001", 80.0));
+    }
+
+    @Test
+    @DisplayName("Should not remember or cache serial numbers that matched no drone")
+    void testFlush_UnknownDrone() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        writer.ingest(List.of(new BatteryReading("UNKNOWN-001", 80.0, NOW)));
+
+        writer.flush();
+
+        verify(fleetCache).updateBatteryCapacities(Map.of());
+        verify(batteryHistory, never()).record(anyString(), anyLong(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should add every reading of a confirmed drone to its history, including coalesced and stale ones")
+    void testFlush_RecordsHistory() {
+        matchEveryRow();
+        writer.ingest(List.of(
+                new BatteryReading("DRONE-001", 80.0, NOW),
+                new BatteryReading("DRONE-001", 70.0, NOW.plusSeconds(1))));
+        writer.flush();
+        writer.ingest(List.of(new BatteryReading("DRONE-001", 90.0, NOW.minusSeconds(1))));
+        writer.flush();
+
+        InOrder inOrder = inOrder(batteryHistory);
+        inOrder.verify(batteryHistory).record("DRONE-001", NOW.toEpochMilli(), 80.0);
+        inOrder.verify(batteryHistory).record("DRONE-001", NOW.plusSeconds(1).toEpochMilli(), 70.0);
+        inOrder.verify(batteryHistory).record("DRONE-001", NOW.minusSeconds(1).toEpochMilli(), 90.0);
+    }
+
+    @Test
+    @DisplayName("Should forget the oldest drones once it remembers max-drones of them")
+    void testFlush_BoundedHistory() {
+        matchEveryRow();
+        writer.ingest(List.of(new BatteryReading("DRONE-001", 80.0, NOW)));
+        writer.flush();
+        writer.ingest(List.of(new BatteryReading("DRONE-002", 80.0, NOW), new BatteryReading("DRONE-003", 80.0, NOW)));
+        writer.flush();
+
+        writer.ingest(List.of(new BatteryReading("DRONE-001", 95.0, NOW.minusSeconds(1))));
+        writer.flush();
+
+        verify(fleetCache).updateBatteryCapacities(Map.of("DRONE-001", 95.0));
+    }
+
+    @Test
+    @DisplayName("Should drop readings while the buffer is full")
+    void testIngest_Full() {
+        List<BatteryReading> readings = List.of(
+                new BatteryReading("DRONE-001", 80.0, NOW),
+                new BatteryReading("DRONE-002", 80.0, NOW),
+                new BatteryReading("DRONE-003", 80.0, NOW),
+                new BatteryReading("DRONE-004", 80.0, NOW),
+                new BatteryReading("DRONE-005", 80.0, NOW));
+
+        assertThat(writer.ingest(readings)).isEqualTo(4);
+
+        matchEveryRow();
+        writer.flush();
+        verify(batteryHistory, never()).record(eq("DRONE-005"), anyLong(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was received")
+    void testFlush_Empty() {
+        writer.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void matchEveryRow() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int[] rowCounts = new int[invocation.<List<?>>getArgument(1).size()];
+            Arrays.fill(rowCounts, 1);
+            return rowCounts;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.hitachi.drone.telemetry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RingBuffer Tests")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Should reject elements once full and accept them again after a poll")
+    void testOffer_Full() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should return elements in order and null when empty")
+    void testPoll_Order() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        for (int round = 0; round < 3; round++) {
+            buffer.offer(round);
+            buffer.offer(round + 10);
+
+            assertThat(buffer.poll()).isEqualTo(round);
+            assertThat(buffer.poll()).isEqualTo(round + 10);
+            assertThat(buffer.poll()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a capacity that is not a power of two")
+    void testConstructor_InvalidCapacity() {
+        assertThatThrownBy(() -> new RingBuffer<>(6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should hand every element to exactly one consumer under concurrent producers")
+    void testOffer_Concurrent() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(1 << 14);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int producer = 0; producer < 8; producer++) {
+                int offset = producer * 1000;
+                executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        buffer.offer(offset + i);
+                    }
+                });
+            }
+        }
+
+        Set<Integer> polled = new HashSet<>();
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            polled.add(element);
+        }
+        assertThat(polled).hasSize(8000);
+    }
+}